@@ -0,0 +1,130 @@
+package com.shop.config;
+
+import com.shop.dto.ItemIndexDto;
+import com.shop.entity.Item;
+import com.shop.entity.Member;
+import com.shop.entity.Order;
+import com.shop.entity.OrderHist;
+import com.shop.entity.OrderItem;
+import com.shop.repository.ItemRepository;
+import com.shop.repository.MemberRepository;
+import com.shop.repository.OrderHistRepository;
+import com.shop.repository.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 컬럼 추가(ddl-auto=update) 후 기존 데이터를 채우는 마이그레이션
+// 이미 채워진 행은 건너뛰므로 매 기동 시 실행해도 됨
+// 웹 서버가 요청을 받기 전에 실행해서 마이그레이션 중에 들어온 주문과 섞이지 않도록 함
+@Component
+@Log
+@RequiredArgsConstructor
+public class DataBackfillRunner implements SmartInitializingSingleton {
+
+    private static final int ITEM_CHUNK_SIZE = 500;
+
+    private static final int MEMBER_CHUNK_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+
+    private final MemberRepository memberRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final OrderHistRepository orderHistRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int repImgUrlCount = transactionTemplate.execute(status -> itemRepository.backfillRepImgUrl());
+        if(repImgUrlCount > 0){
+            log.info("상품 대표 이미지 경로 마이그레이션: " + repImgUrlCount + "건");
+        }
+
+        int itemSummaryCount = backfillItemSummary();
+        if(itemSummaryCount > 0){
+            log.info("상품 설명 요약 마이그레이션: " + itemSummaryCount + "건");
+        }
+
+        backfillOrderHist();
+    }
+
+    // 상품 저장 시와 같은 규칙(공백 정리 후 100자)으로 요약을 만들도록 Item.summarize를 사용하고, chunk 단위로 커밋
+    private int backfillItemSummary() {
+        int itemCount = 0;
+        long lastId = 0L;
+        List<ItemIndexDto> items;
+        do {
+            items = itemRepository.findItemSummaryBackfill(lastId, PageRequest.of(0, ITEM_CHUNK_SIZE));
+            List<ItemIndexDto> chunk = items;
+            itemCount += transactionTemplate.execute(status -> {
+                int updated = 0;
+                for (ItemIndexDto item : chunk) {
+                    updated += itemRepository.backfillItemSummary(item.getItemId(), Item.summarize(item.getItemDetail()));
+                }
+                return updated;
+            });
+            if(!items.isEmpty()){
+                lastId = items.get(items.size() - 1).getItemId();
+            }
+        } while (items.size() == ITEM_CHUNK_SIZE);
+        return itemCount;
+    }
+
+    // 구매 이력을 채우지 않은 회원(orderHistYn = null)마다 기존 주문으로 채우고, 주문 건수를 다시 계산
+    // 회원 단위로 커밋하므로 중간에 중단되어도 다음 기동 시 남은 회원부터 이어서 처리
+    private void backfillOrderHist() {
+        int memberCount = 0;
+        long lastId = 0L;
+        List<Long> memberIds;
+        do {
+            memberIds = memberRepository.findOrderHistBackfillIds(lastId, PageRequest.of(0, MEMBER_CHUNK_SIZE));
+            for (Long memberId : memberIds) {
+                Boolean migrated = transactionTemplate.execute(status -> backfillOrderHist(memberId));
+                if(Boolean.TRUE.equals(migrated)){
+                    memberCount++;
+                }
+                lastId = memberId;
+            }
+        } while (memberIds.size() == MEMBER_CHUNK_SIZE);
+
+        if(memberCount > 0){
+            log.info("구매 이력 마이그레이션: 회원 " + memberCount + "명");
+        }
+    }
+
+    // 회원 행을 잠근 상태에서 처리하므로 다른 서버에서 들어온 같은 회원의 주문 건수 증가는 커밋 후에 반영됨
+    private boolean backfillOrderHist(Long memberId) {
+        Member member = memberRepository.findByIdForUpdate(memberId);
+        if(member == null || "Y".equals(member.getOrderHistYn())){
+            return false;
+        }
+
+        // 마이그레이션 전에 저장된 구매 이력은 순번이 맞지 않을 수 있으므로 모두 다시 채움
+        orderHistRepository.deleteByMemberId(memberId);
+
+        List<OrderHist> orderHists = new ArrayList<>();
+        long orderCount = 0;
+        Long lastOrderId = null;
+        for (OrderItem orderItem : orderItemRepository.findOrderItemsForHist(memberId)) {
+            Order order = orderItem.getOrder();
+            if(!order.getId().equals(lastOrderId)){
+                orderCount++;
+                lastOrderId = order.getId();
+            }
+            orderHists.add(OrderHist.createOrderHist(order, orderItem, memberId, order.getId()));
+        }
+        orderHistRepository.saveAll(orderHists);
+        memberRepository.completeOrderHistBackfill(memberId, orderCount);
+        return true;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.shop.config;
+
+import com.shop.constant.Role;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+// 로그인한 회원 정보 (username = 이메일)
+// 로그인 시 회원 id와 권한을 담아두어서 요청마다 이메일로 회원을 다시 조회하지 않도록 함
+@Getter
+public class MemberPrincipal extends User {
+
+    private final Long memberId;
+
+    private final Role role;
+
+    public MemberPrincipal(Long memberId, String email, String password, Role role){
+        super(email, password, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        this.memberId = memberId;
+        this.role = role;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.shop.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// schedulingEnabled=false 이면 주기 작업(재고/장바구니 반영, 정리 작업)을 실행하지 않음
+// 테스트에서 주기 작업의 쿼리가 측정 결과에 섞이지 않도록 끌 때 사용 (필요한 반영은 테스트에서 직접 호출)
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "schedulingEnabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,6 @@
+package com.shop.constant;
+
+// Idempotency-Key를 받는 주문 API (같은 키라도 API가 다르면 다른 요청으로 처리)
+public enum IdempotencyEndpoint {
+    ORDER, CART_ORDER
+}
@@ -0,0 +1,5 @@
+package com.shop.constant;
+
+public enum JobStatus {
+    RUNNING, COMPLETED, FAILED
+}
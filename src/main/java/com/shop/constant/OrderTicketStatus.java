@@ -0,0 +1,5 @@
+package com.shop.constant;
+
+public enum OrderTicketStatus {
+    PENDING, COMPLETED, FAILED
+}
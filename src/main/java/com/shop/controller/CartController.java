@@ -1,16 +1,23 @@
 package com.shop.controller;
 
+import com.shop.config.MemberPrincipal;
+import com.shop.constant.IdempotencyEndpoint;
 import com.shop.dto.CartItemDto;
+import com.shop.service.CartItemStore;
 import com.shop.service.CartService;
+import com.shop.service.IdempotencyService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*; // 어노테이션 통합
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
-import java.security.Principal;
 import java.util.List;
 
 import com.shop.dto.CartDetailDto;
+import com.shop.dto.CartOperationDto;
 import com.shop.dto.CartOrderDto;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -19,11 +26,21 @@ import org.springframework.validation.FieldError;
 @RequiredArgsConstructor
 public class CartController {
 
+    private static final int MAX_CART_OPERATIONS = 100;
+
     private final CartService cartService;
 
+    private final IdempotencyService idempotencyService;
+
+    private final CartItemStore cartItemStore;
+
     // 장바구니에 상품 담기
     @PostMapping(value = "/cart")
-    public ResponseEntity order(@RequestBody @Valid CartItemDto cartItemDto, BindingResult bindingResult, Principal principal){
+    public ResponseEntity order(@RequestBody @Valid CartItemDto cartItemDto, BindingResult bindingResult, @AuthenticationPrincipal MemberPrincipal principal){
+
+        if(principal == null){
+            return new ResponseEntity<String>("로그인이 필요합니다.", HttpStatus.UNAUTHORIZED);
+        }
 
         if(bindingResult.hasErrors()){
             StringBuilder sb = new StringBuilder();
@@ -36,11 +53,10 @@ public class CartController {
             return new ResponseEntity<String>(sb.toString(), HttpStatus.BAD_REQUEST);
         }
 
-        String email = principal.getName();
         Long cartItemId;
 
         try {
-            cartItemId = cartService.addCart(cartItemDto, email);
+            cartItemId = cartService.addCart(cartItemDto, principal.getMemberId());
         } catch(Exception e){
             return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
@@ -50,44 +66,93 @@ public class CartController {
 
     // ⭐ [수정됨] 장바구니 조회 (가장 중요한 변화)
     @GetMapping(value = "/cart")
-    public ResponseEntity<List<CartDetailDto>> orderHist(Principal principal){
+    public ResponseEntity orderHist(@AuthenticationPrincipal MemberPrincipal principal){
+        if(principal == null){
+            return new ResponseEntity<String>("로그인이 필요합니다.", HttpStatus.UNAUTHORIZED);
+        }
+
         // 1. 서비스에서 데이터를 가져옵니다.
-        List<CartDetailDto> cartDetailList = cartService.getCartList(principal.getName());
+        List<CartDetailDto> cartDetailList = cartService.getCartList(principal.getMemberId());
         
         // 2. Model에 담지 않고, 데이터(List) 자체를 바로 리턴합니다.
-        return new ResponseEntity<>(cartDetailList, HttpStatus.OK);
+        return new ResponseEntity<List<CartDetailDto>>(cartDetailList, HttpStatus.OK);
+    }
+
+    // 장바구니 일괄 변경 (담기/수량 수정/삭제). 한 트랜잭션으로 처리하고 변경된 장바구니를 반환
+    @PatchMapping(value = "/cart")
+    public ResponseEntity updateCart(@RequestBody List<CartOperationDto> cartOperationDtoList, @AuthenticationPrincipal MemberPrincipal principal){
+
+        if(principal == null){
+            return new ResponseEntity<String>("로그인이 필요합니다.", HttpStatus.UNAUTHORIZED);
+        }
+
+        if(cartOperationDtoList == null || cartOperationDtoList.isEmpty()){
+            return new ResponseEntity<String>("변경할 상품을 선택해주세요", HttpStatus.BAD_REQUEST);
+        } else if(cartOperationDtoList.size() > MAX_CART_OPERATIONS){
+            return new ResponseEntity<String>("한 번에 " + MAX_CART_OPERATIONS + "건까지 변경할 수 있습니다.", HttpStatus.BAD_REQUEST);
+        }
+
+        List<CartDetailDto> cartDetailList;
+        try {
+            cartDetailList = cartService.updateCart(cartOperationDtoList, principal.getMemberId());
+        } catch (AccessDeniedException e){
+            return new ResponseEntity<String>(e.getMessage(), HttpStatus.FORBIDDEN);
+        } catch (IllegalArgumentException | EntityNotFoundException e){
+            return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<List<CartDetailDto>>(cartDetailList, HttpStatus.OK);
     }
 
     // 장바구니 수량 수정
     @PatchMapping(value = "/cartItem/{cartItemId}")
-    public ResponseEntity updateCartItem(@PathVariable("cartItemId") Long cartItemId, int count, Principal principal){
+    public ResponseEntity updateCartItem(@PathVariable("cartItemId") Long cartItemId, int count, @AuthenticationPrincipal MemberPrincipal principal){
+
+        if(principal == null){
+            return new ResponseEntity<String>("로그인이 필요합니다.", HttpStatus.UNAUTHORIZED);
+        }
 
         if(count <= 0){
             return new ResponseEntity<String>("최소 1개 이상 담아주세요", HttpStatus.BAD_REQUEST);
-        } else if(!cartService.validateCartItem(cartItemId, principal.getName())){
+        } else if(cartItemStore.isEnabled()){
+            // 메모리 장바구니 사용 시 권한 확인과 수량 변경을 메모리에서 처리하고 DB에는 주기적으로 반영
+            if(!cartItemStore.updateCount(principal.getMemberId(), cartItemId, count)){
+                return new ResponseEntity<String>("수정 권한이 없습니다.", HttpStatus.FORBIDDEN);
+            }
+            return new ResponseEntity<Long>(cartItemId, HttpStatus.OK);
+        } else if(!cartService.validateCartItem(cartItemId, principal.getMemberId())){
             return new ResponseEntity<String>("수정 권한이 없습니다.", HttpStatus.FORBIDDEN);
         }
 
-        cartService.updateCartItemCount(cartItemId, count);
+        cartService.updateCartItemCount(cartItemId, count, principal.getMemberId());
         return new ResponseEntity<Long>(cartItemId, HttpStatus.OK);
     }
 
     // 장바구니 상품 삭제
     @DeleteMapping(value = "/cartItem/{cartItemId}")
-    public ResponseEntity deleteCartItem(@PathVariable("cartItemId") Long cartItemId, Principal principal){
+    public ResponseEntity deleteCartItem(@PathVariable("cartItemId") Long cartItemId, @AuthenticationPrincipal MemberPrincipal principal){
 
-        if(!cartService.validateCartItem(cartItemId, principal.getName())){
+        if(principal == null){
+            return new ResponseEntity<String>("로그인이 필요합니다.", HttpStatus.UNAUTHORIZED);
+        }
+
+        if(!cartService.validateCartItem(cartItemId, principal.getMemberId())){
             return new ResponseEntity<String>("수정 권한이 없습니다.", HttpStatus.FORBIDDEN);
         }
 
-        cartService.deleteCartItem(cartItemId);
+        cartService.deleteCartItem(cartItemId, principal.getMemberId());
 
         return new ResponseEntity<Long>(cartItemId, HttpStatus.OK);
     }
 
     // 장바구니 상품 주문
+    // Idempotency-Key 헤더가 있으면 같은 키로 다시 요청해도 처음 주문 id를 돌려줍니다.
     @PostMapping(value = "/cart/orders")
-    public ResponseEntity orderCartItem(@RequestBody CartOrderDto cartOrderDto, Principal principal){
+    public ResponseEntity orderCartItem(@RequestBody CartOrderDto cartOrderDto, @AuthenticationPrincipal MemberPrincipal principal,
+                                        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey){
+
+        if(principal == null){
+            return new ResponseEntity<String>("로그인이 필요합니다.", HttpStatus.UNAUTHORIZED);
+        }
 
         List<CartOrderDto> cartOrderDtoList = cartOrderDto.getCartOrderDtoList();
 
@@ -95,13 +160,21 @@ public class CartController {
             return new ResponseEntity<String>("주문할 상품을 선택해주세요", HttpStatus.FORBIDDEN);
         }
 
-        for (CartOrderDto cartOrder : cartOrderDtoList) {
-            if(!cartService.validateCartItem(cartOrder.getCartItemId(), principal.getName())){
-                return new ResponseEntity<String>("주문 권한이 없습니다.", HttpStatus.FORBIDDEN);
+        // 권한 확인은 주문할 장바구니 상품 조회 시 한 번에 처리
+        Long orderId;
+        Long memberId = principal.getMemberId();
+        try {
+            if(idempotencyKey != null){
+                orderId = idempotencyService.execute(principal.getUsername(), IdempotencyEndpoint.CART_ORDER, idempotencyKey,
+                        () -> cartService.orderCartItem(cartOrderDtoList, memberId));
+            } else {
+                orderId = cartService.orderCartItem(cartOrderDtoList, memberId);
             }
+        } catch (AccessDeniedException e){
+            return new ResponseEntity<String>(e.getMessage(), HttpStatus.FORBIDDEN);
+        } catch (IllegalArgumentException e){
+            return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
-
-        Long orderId = cartService.orderCartItem(cartOrderDtoList, principal.getName());
         return new ResponseEntity<Long>(orderId, HttpStatus.OK);
     }
 
@@ -1,20 +1,25 @@
 package com.shop.controller;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*; // RestController, GetMapping 등 통합
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.context.request.WebRequest;
 import jakarta.validation.Valid;
 import org.springframework.validation.BindingResult;
 import lombok.RequiredArgsConstructor;
 
+import com.shop.constant.PageCountMode;
+import com.shop.dto.AdminItemDto;
+import com.shop.dto.CursorPageDto;
 import com.shop.dto.ItemFormDto;
 import com.shop.dto.ItemSearchDto;
-import com.shop.entity.Item;
+import com.shop.service.ItemDetailCache;
 import com.shop.service.ItemService;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
@@ -26,6 +31,8 @@ public class ItemController {
 
     private final ItemService itemService;
 
+    private final ItemDetailCache itemDetailCache;
+
     // ❌ [삭제] 상품 등록 폼(GET)은 필요 없습니다.
     // 리액트에서 그냥 빈 입력창 컴포넌트를 보여주면 끝입니다.
 
@@ -86,22 +93,45 @@ public class ItemController {
     }
 
     // ✅ [수정] 상품 관리 (리스트 조회)
+    // countMode로 전체 건수 조회 방식을 선택합니다. (기본값 EXACT: 기존처럼 Page 응답, CACHED/HAS_NEXT는 요청 시에만 사용)
+    // cursor 파라미터가 있으면 offset 대신 커서(마지막 상품 id) 기반으로 조회합니다.
     @GetMapping(value = {"/admin/items", "/admin/items/{page}"})
-    public ResponseEntity itemManage(ItemSearchDto itemSearchDto, @PathVariable("page") Optional<Integer> page){
+    public ResponseEntity itemManage(ItemSearchDto itemSearchDto, @PathVariable("page") Optional<Integer> page,
+                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                     @RequestParam(value = "countMode", defaultValue = "EXACT") PageCountMode countMode){
+
+        if(cursor != null){
+            try {
+                CursorPageDto<AdminItemDto> items = itemService.getAdminItemCursorPage(itemSearchDto, cursor, 3);
+                return new ResponseEntity<CursorPageDto<AdminItemDto>>(items, HttpStatus.OK);
+            } catch (IllegalArgumentException e){
+                return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+            }
+        }
 
         Pageable pageable = PageRequest.of(page.isPresent() ? page.get() : 0, 3);
         // Page 객체는 JSON으로 변환될 때 아주 예쁘게(content, pageable 정보 등) 바뀝니다.
-        Page<Item> items = itemService.getAdminItemPage(itemSearchDto, pageable);
+        Slice<AdminItemDto> items = itemService.getAdminItemPage(itemSearchDto, pageable, countMode);
 
-        return new ResponseEntity<Page<Item>>(items, HttpStatus.OK);
+        return new ResponseEntity<Slice<AdminItemDto>>(items, HttpStatus.OK);
     }
 
     // ✅ [수정] 메인 상품 상세 페이지 (일반 사용자용)
+    // 직렬화된 JSON을 캐시에서 바로 응답
+    // 캐시에 없으면 수정 시간만 조회해서 ETag/Last-Modified를 비교하고, 변경이 없으면 본문 없이 304로 응답
     @GetMapping(value = "/item/{itemId}")
-    public ResponseEntity itemDtlPublic(@PathVariable("itemId") Long itemId){
+    public ResponseEntity itemDtlPublic(@PathVariable("itemId") Long itemId, WebRequest webRequest){
         try {
-            ItemFormDto itemFormDto = itemService.getItemDtl(itemId);
-            return new ResponseEntity<ItemFormDto>(itemFormDto, HttpStatus.OK);
+            ItemDetailCache.ItemDetailJson cached = itemDetailCache.getIfPresent(itemId);
+            long lastModified = cached != null ? cached.getLastModified()
+                    : itemService.getItemVersion(itemId).getLastModified();
+            if(webRequest.checkNotModified("\"" + itemId + "-" + lastModified + "\"", lastModified)){
+                return null;
+            }
+
+            // 캐시에 없으면 위에서 조회한 버전을 그대로 사용 (버전 조회 1번 + 상세 조회 1번)
+            ItemDetailCache.ItemDetailJson detail = cached != null ? cached : itemDetailCache.get(itemId, lastModified);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(detail.getBody());
         } catch (EntityNotFoundException e) {
             return new ResponseEntity<String>("존재하지 않는 상품입니다.", HttpStatus.BAD_REQUEST);
         }
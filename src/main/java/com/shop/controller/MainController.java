@@ -1,18 +1,25 @@
 package com.shop.controller;
 
+import com.shop.constant.PageCountMode;
+import com.shop.dto.CursorPageDto;
 import com.shop.dto.ItemSearchDto;
+import com.shop.dto.ItemSuggestDto;
 import com.shop.dto.MainItemDto;
 import com.shop.service.ItemService;
+import com.shop.service.ItemSuggestIndex;
+import com.shop.service.MainItemCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -21,16 +28,49 @@ public class MainController {
 
     private final ItemService itemService;
 
+    private final ItemSuggestIndex itemSuggestIndex;
+
+    private final MainItemCache mainItemCache;
+
     // ⭐ [수정] 주소를 "/" 에서 "/api/main" 으로 변경!
     // 이제 localhost:8080/ 으로 접속하면 이 코드가 실행되지 않고, index.html이 나옵니다.
+    // countMode로 전체 건수 조회 방식을 선택합니다. (기본값 EXACT: 기존처럼 Page 응답, CACHED/HAS_NEXT는 요청 시에만 사용)
+    // 조회 결과는 MainItemCache에 캐싱되며 상품 등록/수정 시 비워집니다.
+    // cursor 파라미터가 있으면 커서(마지막 상품 id) 기반으로 조회합니다. (첫 페이지는 cursor= 로 요청)
+    // 상품이 변경되지 않았으면 If-None-Match 요청에 304로 응답합니다. (ETag는 URL마다 따로 비교되므로 캐시 세대만 사용)
     @GetMapping(value = "/api/main")
-    public ResponseEntity<Page<MainItemDto>> main(ItemSearchDto itemSearchDto,
-                                                  @RequestParam("page") Optional<Integer> page) {
+    public ResponseEntity main(ItemSearchDto itemSearchDto,
+                               @RequestParam("page") Optional<Integer> page,
+                               @RequestParam(value = "cursor", required = false) String cursor,
+                               @RequestParam(value = "countMode", defaultValue = "EXACT") PageCountMode countMode,
+                               WebRequest webRequest) {
+
+        if(webRequest.checkNotModified("\"main-" + mainItemCache.getVersionTag() + "\"")){
+            return null;
+        }
+
+        if(cursor != null){
+            try {
+                CursorPageDto<MainItemDto> items = mainItemCache.getCursorPage(itemSearchDto, cursor,
+                        () -> itemService.getMainItemCursorPage(itemSearchDto, cursor, 6));
+                return new ResponseEntity<CursorPageDto<MainItemDto>>(items, HttpStatus.OK);
+            } catch (IllegalArgumentException e){
+                return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+            }
+        }
 
         Pageable pageable = PageRequest.of(page.isPresent() ? page.get() : 0, 6);
-        Page<MainItemDto> items = itemService.getMainItemPage(itemSearchDto, pageable);
+        Slice<MainItemDto> items = mainItemCache.getPage(itemSearchDto, pageable.getPageNumber(), countMode.name(),
+                () -> itemService.getMainItemPage(itemSearchDto, pageable, countMode));
+
+        return new ResponseEntity<Slice<MainItemDto>>(items, HttpStatus.OK);
+    }
 
-        return new ResponseEntity<>(items, HttpStatus.OK);
+    // 상품명 자동완성 (인기순 상위 10개)
+    @GetMapping(value = "/api/items/suggest")
+    public ResponseEntity<List<ItemSuggestDto>> suggest(@RequestParam(value = "prefix", defaultValue = "") String prefix) {
+        List<ItemSuggestDto> suggestions = itemSuggestIndex.suggest(prefix, 10);
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
     }
 
 }
\ No newline at end of file
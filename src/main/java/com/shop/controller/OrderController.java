@@ -1,19 +1,30 @@
 package com.shop.controller;
 
+import com.shop.config.MemberPrincipal;
+import com.shop.constant.IdempotencyEndpoint;
+import com.shop.constant.Role;
 import com.shop.dto.OrderDto;
+import com.shop.dto.OrderCancelDto;
+import com.shop.dto.OrderCancelJobDto;
+import com.shop.dto.OrderTicketDto;
+import com.shop.service.IdempotencyService;
+import com.shop.service.OrderCancelJobService;
+import com.shop.service.OrderIntakeQueue;
 import com.shop.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*; // 어노테이션 통합
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 
 import jakarta.validation.Valid;
-import java.security.Principal;
 import java.util.List;
 import java.util.Optional;
 
+import com.shop.dto.CursorPageDto;
 import com.shop.dto.OrderHistDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -25,10 +36,24 @@ public class OrderController {
 
     private final OrderService orderService;
 
+    private final IdempotencyService idempotencyService;
+
+    private final OrderIntakeQueue orderIntakeQueue;
+
+    private final OrderCancelJobService orderCancelJobService;
+
     // 주문하기
+    // Idempotency-Key 헤더가 있으면 같은 키로 다시 요청해도 처음 주문 id를 돌려줍니다. (재시도 시 중복 주문 방지)
+    // Prefer: respond-async 헤더가 있으면 접수만 하고 202와 접수 번호를 돌려줍니다. (결과는 /order/pending/{ticket})
     @PostMapping(value = "/order")
     public ResponseEntity order(@RequestBody @Valid OrderDto orderDto,
-                                BindingResult bindingResult, Principal principal){
+                                BindingResult bindingResult, @AuthenticationPrincipal MemberPrincipal principal,
+                                @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                @RequestHeader(value = "Prefer", required = false) String prefer){
+
+        if(principal == null){
+            return new ResponseEntity<String>("로그인이 필요합니다.", HttpStatus.UNAUTHORIZED);
+        }
 
         if(bindingResult.hasErrors()){
             StringBuilder sb = new StringBuilder();
@@ -41,11 +66,28 @@ public class OrderController {
             return new ResponseEntity<String>(sb.toString(), HttpStatus.BAD_REQUEST);
         }
 
-        String email = principal.getName();
+        String email = principal.getUsername();
+        Long memberId = principal.getMemberId();
+
+        if(prefer != null && prefer.contains("respond-async")){
+            OrderTicketDto ticket = orderIntakeQueue.submit(orderDto, memberId, email, idempotencyKey);
+            if(ticket == null){
+                HttpHeaders headers = new HttpHeaders();
+                headers.set(HttpHeaders.RETRY_AFTER, "1");
+                return new ResponseEntity<String>("주문이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.",
+                        headers, HttpStatus.TOO_MANY_REQUESTS);
+            }
+            return new ResponseEntity<OrderTicketDto>(ticket, HttpStatus.ACCEPTED);
+        }
+
         Long orderId;
 
         try {
-            orderId = orderService.order(orderDto, email);
+            if(idempotencyKey != null){
+                orderId = idempotencyService.execute(email, IdempotencyEndpoint.ORDER, idempotencyKey, () -> orderService.order(orderDto, memberId));
+            } else {
+                orderId = orderService.order(orderDto, memberId);
+            }
         } catch(Exception e){
             return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
@@ -53,28 +95,62 @@ public class OrderController {
         return new ResponseEntity<Long>(orderId, HttpStatus.OK);
     }
 
+    // 비동기 주문 처리 결과 조회 (PENDING, COMPLETED, FAILED)
+    @GetMapping(value = "/order/pending/{ticket}")
+    public ResponseEntity pendingOrder(@PathVariable("ticket") String ticket, @AuthenticationPrincipal MemberPrincipal principal){
+        if(principal == null){
+            return new ResponseEntity<String>("로그인이 필요합니다.", HttpStatus.UNAUTHORIZED);
+        }
+
+        OrderTicketDto orderTicketDto = orderIntakeQueue.getTicket(ticket, principal.getMemberId());
+        if(orderTicketDto == null){
+            return new ResponseEntity<String>("존재하지 않는 주문 접수 번호입니다.", HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<OrderTicketDto>(orderTicketDto, HttpStatus.OK);
+    }
+
     // ⭐ [수정됨] 구매 이력 조회
     // 기존: HTML 파일 이름("order/orderHist") 리턴 -> 리액트 에러 발생
     // 변경: 주문 데이터(Page 객체) 자체를 JSON으로 리턴
+    // cursor 파라미터가 있으면 커서(마지막으로 조회한 주문 순번) 기반으로 조회합니다. (첫 페이지는 cursor= 로 요청)
     @GetMapping(value = {"/orders", "/orders/{page}"})
-    public ResponseEntity<Page<OrderHistDto>> orderHist(@PathVariable("page") Optional<Integer> page, 
-                                                        Principal principal){
+    public ResponseEntity orderHist(@PathVariable("page") Optional<Integer> page,
+                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                    @AuthenticationPrincipal MemberPrincipal principal){
+
+        if(principal == null){
+            return new ResponseEntity<String>("로그인이 필요합니다.", HttpStatus.UNAUTHORIZED);
+        }
+
+        if(cursor != null){
+            try {
+                CursorPageDto<OrderHistDto> orderHistDtoList =
+                        orderService.getOrderCursorPage(principal.getMemberId(), cursor, 4);
+                return new ResponseEntity<CursorPageDto<OrderHistDto>>(orderHistDtoList, HttpStatus.OK);
+            } catch (IllegalArgumentException e){
+                return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+            }
+        }
 
         // 1. 페이징 설정 (페이지 번호가 없으면 0페이지)
         Pageable pageable = PageRequest.of(page.isPresent() ? page.get() : 0, 4);
 
         // 2. 서비스 호출해서 데이터 가져오기
-        Page<OrderHistDto> ordersHistDtoList = orderService.getOrderList(principal.getName(), pageable);
+        Page<OrderHistDto> ordersHistDtoList = orderService.getOrderList(principal.getMemberId(), pageable);
 
         // 3. Model에 담는 과정 삭제하고, 데이터 바로 리턴!
-        return new ResponseEntity<>(ordersHistDtoList, HttpStatus.OK);
+        return new ResponseEntity<Page<OrderHistDto>>(ordersHistDtoList, HttpStatus.OK);
     }
 
     // 주문 취소
     @PostMapping("/order/{orderId}/cancel")
-    public ResponseEntity cancelOrder(@PathVariable("orderId") Long orderId , Principal principal){
+    public ResponseEntity cancelOrder(@PathVariable("orderId") Long orderId , @AuthenticationPrincipal MemberPrincipal principal){
 
-        if(!orderService.validateOrder(orderId, principal.getName())){
+        if(principal == null){
+            return new ResponseEntity<String>("로그인이 필요합니다.", HttpStatus.UNAUTHORIZED);
+        }
+
+        if(!orderService.validateOrder(orderId, principal.getMemberId())){
             return new ResponseEntity<String>("주문 취소 권한이 없습니다.", HttpStatus.FORBIDDEN);
         }
 
@@ -82,4 +158,51 @@ public class OrderController {
         return new ResponseEntity<Long>(orderId, HttpStatus.OK);
     }
 
-}
\ No newline at end of file
+    // 주문 일괄 취소 (관리자). 주문 id 목록 또는 주문일 범위로 요청하고 작업 id로 진행 상황을 조회합니다.
+    @PostMapping(value = "/admin/orders/cancel")
+    public ResponseEntity cancelOrders(@RequestBody OrderCancelDto orderCancelDto,
+                                       @AuthenticationPrincipal MemberPrincipal principal){
+
+        ResponseEntity<String> denied = checkAdmin(principal);
+        if(denied != null){
+            return denied;
+        }
+
+        try {
+            OrderCancelJobDto job = orderCancelJobService.start(orderCancelDto);
+            return new ResponseEntity<OrderCancelJobDto>(job, HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException e){
+            return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e){
+            return new ResponseEntity<String>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
+    @GetMapping(value = "/admin/orders/cancel/{jobId}")
+    public ResponseEntity cancelOrdersProgress(@PathVariable("jobId") String jobId,
+                                               @AuthenticationPrincipal MemberPrincipal principal){
+
+        ResponseEntity<String> denied = checkAdmin(principal);
+        if(denied != null){
+            return denied;
+        }
+
+        OrderCancelJobDto job = orderCancelJobService.getJob(jobId);
+        if(job == null){
+            return new ResponseEntity<String>("존재하지 않는 작업입니다.", HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<OrderCancelJobDto>(job, HttpStatus.OK);
+    }
+
+    // 관리자가 아니면 401/403 응답, 관리자면 null
+    private ResponseEntity<String> checkAdmin(MemberPrincipal principal){
+        if(principal == null){
+            return new ResponseEntity<String>("로그인이 필요합니다.", HttpStatus.UNAUTHORIZED);
+        }
+        if(principal.getRole() != Role.ADMIN){
+            return new ResponseEntity<String>("관리자만 사용할 수 있습니다.", HttpStatus.FORBIDDEN);
+        }
+        return null;
+    }
+
+}
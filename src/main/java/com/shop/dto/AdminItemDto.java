@@ -0,0 +1,39 @@
+package com.shop.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import com.shop.constant.ItemSellStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter @Setter
+public class AdminItemDto {
+
+    private Long id; //상품 코드
+
+    private String itemNm; //상품명
+
+    private Integer price; //가격
+
+    private Integer stockNumber; //재고수량
+
+    private ItemSellStatus itemSellStatus; //상품 판매 상태
+
+    private String createdBy; //등록자
+
+    private LocalDateTime regTime; //등록일
+
+    @QueryProjection
+    public AdminItemDto(Long id, String itemNm, Integer price, Integer stockNumber,
+                        ItemSellStatus itemSellStatus, String createdBy, LocalDateTime regTime){
+        this.id = id;
+        this.itemNm = itemNm;
+        this.price = price;
+        this.stockNumber = stockNumber;
+        this.itemSellStatus = itemSellStatus;
+        this.createdBy = createdBy;
+        this.regTime = regTime;
+    }
+
+}
@@ -16,12 +16,15 @@ public class CartDetailDto {
 
     private String imgUrl; //상품 이미지 경로
 
+    private int totalPrice; //상품 금액 * 수량
+
     public CartDetailDto(Long cartItemId, String itemNm, int price, int count, String imgUrl){
         this.cartItemId = cartItemId;
         this.itemNm = itemNm;
         this.price = price;
         this.count = count;
         this.imgUrl = imgUrl;
+        this.totalPrice = price * count;
     }
 
 }
\ No newline at end of file
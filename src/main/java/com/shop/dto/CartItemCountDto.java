@@ -0,0 +1,19 @@
+package com.shop.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// 장바구니 상품별 수량 (메모리 장바구니 적재용)
+@Getter @Setter
+public class CartItemCountDto {
+
+    private Long cartItemId;
+
+    private int count;
+
+    public CartItemCountDto(Long cartItemId, int count){
+        this.cartItemId = cartItemId;
+        this.count = count;
+    }
+
+}
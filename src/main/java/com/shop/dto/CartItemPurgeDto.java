@@ -0,0 +1,21 @@
+package com.shop.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 오래된 장바구니 상품 정리 대상 (updateTime, id 순으로 조회하기 위한 키)
+@Getter @Setter
+public class CartItemPurgeDto {
+
+    private Long cartItemId;
+
+    private LocalDateTime updateTime;
+
+    public CartItemPurgeDto(Long cartItemId, LocalDateTime updateTime){
+        this.cartItemId = cartItemId;
+        this.updateTime = updateTime;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.shop.dto;
+
+import com.shop.constant.CartOperationType;
+import lombok.Getter;
+import lombok.Setter;
+
+// 장바구니 일괄 변경(PATCH /cart) 항목
+// ADD: itemId, count / UPDATE: cartItemId, count / REMOVE: cartItemId
+@Getter @Setter
+public class CartOperationDto {
+
+    private CartOperationType type;
+
+    private Long itemId;
+
+    private Long cartItemId;
+
+    private int count;
+
+}
@@ -0,0 +1,54 @@
+package com.shop.dto;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+public class CursorPageDto<T> {
+
+    private List<T> content; //조회 결과
+
+    private int size; //요청한 페이지 크기
+
+    private boolean hasNext; //다음 페이지 존재 여부
+
+    private String nextCursor; //다음 페이지 요청 시 전달할 커서
+
+    public CursorPageDto(List<T> content, int size, boolean hasNext, String nextCursor){
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    // size + 1 건을 조회한 결과를 받아서 다음 페이지 여부와 커서를 계산
+    public static <T> CursorPageDto<T> of(List<T> rows, int size, Function<T, Long> idExtractor){
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encodeCursor(idExtractor.apply(content.get(content.size() - 1))) : null;
+        return new CursorPageDto<>(content, size, hasNext, nextCursor);
+    }
+
+    public static String encodeCursor(Long lastId){
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 빈 커서는 첫 페이지를 의미
+    public static Long decodeCursor(String cursor){
+        if(cursor == null || cursor.isEmpty()){
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.valueOf(decoded);
+        } catch (IllegalArgumentException e){
+            throw new IllegalArgumentException("잘못된 커서 값입니다.");
+        }
+    }
+
+}
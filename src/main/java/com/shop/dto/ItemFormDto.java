@@ -4,7 +4,6 @@ import com.shop.constant.ItemSellStatus;
 import com.shop.entity.Item;
 import lombok.Getter;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -30,18 +29,35 @@ public class ItemFormDto {
 
     private ItemSellStatus itemSellStatus;
 
+    private String hotItemYn;
+
     private List<ItemImgDto> itemImgDtoList = new ArrayList<>();
 
     private List<Long> itemImgIds = new ArrayList<>();
 
-    private static ModelMapper modelMapper = new ModelMapper();
-
+    // ModelMapper(리플렉션) 대신 직접 매핑
     public Item createItem(){
-        return modelMapper.map(this, Item.class);
+        Item item = new Item();
+        item.setItemNm(itemNm);
+        item.setPrice(price);
+        item.setStockNumber(stockNumber);
+        item.setItemDetail(itemDetail);
+        item.setItemSellStatus(itemSellStatus);
+        item.setHotItemYn(hotItemYn);
+        item.updateItemSummary();
+        return item;
     }
 
     public static ItemFormDto of(Item item){
-        return modelMapper.map(item,ItemFormDto.class);
+        ItemFormDto itemFormDto = new ItemFormDto();
+        itemFormDto.setId(item.getId());
+        itemFormDto.setItemNm(item.getItemNm());
+        itemFormDto.setPrice(item.getPrice());
+        itemFormDto.setItemDetail(item.getItemDetail());
+        itemFormDto.setStockNumber(item.getStockNumber());
+        itemFormDto.setItemSellStatus(item.getItemSellStatus());
+        itemFormDto.setHotItemYn(item.getHotItemYn());
+        return itemFormDto;
     }
 
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package com.shop.dto;
 import com.shop.entity.ItemImg;
 import lombok.Getter;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 @Getter @Setter
 public class ItemImgDto {
@@ -18,10 +17,21 @@ public class ItemImgDto {
 
     private String repImgYn;
 
-    private static ModelMapper modelMapper = new ModelMapper();
+    public ItemImgDto(){
+    }
+
+    public ItemImgDto(Long id, String imgName, String oriImgName, String imgUrl, String repImgYn){
+        this.id = id;
+        this.imgName = imgName;
+        this.oriImgName = oriImgName;
+        this.imgUrl = imgUrl;
+        this.repImgYn = repImgYn;
+    }
 
+    // ModelMapper(리플렉션) 대신 직접 매핑
     public static ItemImgDto of(ItemImg itemImg) {
-        return modelMapper.map(itemImg,ItemImgDto.class);
+        return new ItemImgDto(itemImg.getId(), itemImg.getImgName(), itemImg.getOriImgName(),
+                itemImg.getImgUrl(), itemImg.getRepimgYn());
     }
 
 }
\ No newline at end of file
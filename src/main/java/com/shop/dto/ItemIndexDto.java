@@ -0,0 +1,21 @@
+package com.shop.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+public class ItemIndexDto {
+
+    private Long itemId; //상품 아이디
+
+    private String itemNm; //상품명
+
+    private String itemDetail; //상품 상세 설명
+
+    public ItemIndexDto(Long itemId, String itemNm, String itemDetail){
+        this.itemId = itemId;
+        this.itemNm = itemNm;
+        this.itemDetail = itemDetail;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.shop.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+public class ItemPopularityDto {
+
+    private Long itemId; //상품 아이디
+
+    private Long orderCount; //누적 주문 수량
+
+    public ItemPopularityDto(Long itemId, Long orderCount){
+        this.itemId = itemId;
+        this.orderCount = orderCount;
+    }
+
+}
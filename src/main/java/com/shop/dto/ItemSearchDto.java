@@ -15,4 +15,13 @@ public class ItemSearchDto {
 
     private String searchQuery = "";
 
+    // 캐시 키로 사용하기 위해 검색 조건을 정규화
+    public String normalizedKey(){
+        String dateType = searchDateType == null ? "all" : searchDateType;
+        String sellStatus = searchSellStatus == null ? "" : searchSellStatus.name();
+        String by = searchBy == null ? "" : searchBy;
+        String query = searchQuery == null ? "" : searchQuery;
+        return dateType + "|" + sellStatus + "|" + by + "|" + query;
+    }
+
 }
\ No newline at end of file
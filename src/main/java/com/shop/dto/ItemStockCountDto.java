@@ -0,0 +1,19 @@
+package com.shop.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// 상품별 수량 합계 (재고 일괄 복구용)
+@Getter @Setter
+public class ItemStockCountDto {
+
+    private Long itemId;
+
+    private Long count;
+
+    public ItemStockCountDto(Long itemId, Long count){
+        this.itemId = itemId;
+        this.count = count;
+    }
+
+}
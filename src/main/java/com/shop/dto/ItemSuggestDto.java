@@ -0,0 +1,18 @@
+package com.shop.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+public class ItemSuggestDto {
+
+    private Long itemId; //상품 아이디
+
+    private String itemNm; //상품명
+
+    public ItemSuggestDto(Long itemId, String itemNm){
+        this.itemId = itemId;
+        this.itemNm = itemNm;
+    }
+
+}
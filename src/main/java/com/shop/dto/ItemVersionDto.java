@@ -0,0 +1,30 @@
+package com.shop.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Getter @Setter
+public class ItemVersionDto {
+
+    private LocalDateTime itemUpdateTime; //상품 수정 시간
+
+    private LocalDateTime itemImgUpdateTime; //상품 이미지 중 가장 최근 수정 시간
+
+    public ItemVersionDto(LocalDateTime itemUpdateTime, LocalDateTime itemImgUpdateTime){
+        this.itemUpdateTime = itemUpdateTime;
+        this.itemImgUpdateTime = itemImgUpdateTime;
+    }
+
+    // 상품과 이미지 중 가장 최근 수정 시간 (epoch millis)
+    public long getLastModified(){
+        LocalDateTime lastModified = itemUpdateTime;
+        if(lastModified == null || (itemImgUpdateTime != null && itemImgUpdateTime.isAfter(lastModified))){
+            lastModified = itemImgUpdateTime;
+        }
+        return lastModified == null ? 0L : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+}
@@ -11,17 +11,17 @@ public class MainItemDto {
 
     private String itemNm;
 
-    private String itemDetail;
+    private String itemSummary; //상품 설명 요약 (상세 설명은 상품 상세 조회 시에만 제공)
 
     private String imgUrl;
 
     private Integer price;
 
     @QueryProjection
-    public MainItemDto(Long id, String itemNm, String itemDetail, String imgUrl,Integer price){
+    public MainItemDto(Long id, String itemNm, String itemSummary, String imgUrl,Integer price){
         this.id = id;
         this.itemNm = itemNm;
-        this.itemDetail = itemDetail;
+        this.itemSummary = itemSummary;
         this.imgUrl = imgUrl;
         this.price = price;
     }
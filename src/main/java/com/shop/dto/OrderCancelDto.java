@@ -0,0 +1,19 @@
+package com.shop.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 주문 일괄 취소 요청. 주문 id 목록 또는 주문일 범위(orderDateFrom 이상, orderDateTo 미만)로 지정
+@Getter @Setter
+public class OrderCancelDto {
+
+    private List<Long> orderIds;
+
+    private LocalDateTime orderDateFrom;
+
+    private LocalDateTime orderDateTo;
+
+}
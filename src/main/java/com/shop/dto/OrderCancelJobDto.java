@@ -0,0 +1,41 @@
+package com.shop.dto;
+
+import com.shop.constant.JobStatus;
+import lombok.Getter;
+
+// 주문 일괄 취소 진행 상황 (작업 스레드 하나만 갱신)
+@Getter
+public class OrderCancelJobDto {
+
+    private final String jobId; //작업 id
+
+    private final Integer requestedCount; //요청한 주문 수 (주문일 범위로 요청한 경우 null)
+
+    private volatile JobStatus status = JobStatus.RUNNING; //진행 상태
+
+    private volatile long processedCount; //처리한 주문 수
+
+    private volatile long cancelledCount; //취소된 주문 수 (이미 취소된 주문은 제외)
+
+    private volatile String message; //실패 사유
+
+    public OrderCancelJobDto(String jobId, Integer requestedCount){
+        this.jobId = jobId;
+        this.requestedCount = requestedCount;
+    }
+
+    public void addProgress(int processed, int cancelled){
+        this.processedCount += processed;
+        this.cancelledCount += cancelled;
+    }
+
+    public void complete(){
+        this.status = JobStatus.COMPLETED;
+    }
+
+    public void fail(String message){
+        this.message = message;
+        this.status = JobStatus.FAILED;
+    }
+
+}
@@ -2,6 +2,7 @@ package com.shop.dto;
 
 import com.shop.constant.OrderStatus;
 import com.shop.entity.Order;
+import com.shop.entity.OrderHist;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,12 +13,20 @@ import java.util.List;
 @Getter @Setter
 public class OrderHistDto {
 
+    private static final DateTimeFormatter ORDER_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     public OrderHistDto(Order order){
         this.orderId = order.getId();
-        this.orderDate = order.getOrderDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+        this.orderDate = order.getOrderDate().format(ORDER_DATE_FORMATTER);
         this.orderStatus = order.getOrderStatus();
     }
 
+    public OrderHistDto(OrderHist orderHist){
+        this.orderId = orderHist.getOrderId();
+        this.orderDate = orderHist.getOrderDate().format(ORDER_DATE_FORMATTER);
+        this.orderStatus = orderHist.getOrderStatus();
+    }
+
     private Long orderId; //주문아이디
     private String orderDate; //주문날짜
     private OrderStatus orderStatus; //주문 상태
@@ -1,5 +1,6 @@
 package com.shop.dto;
 
+import com.shop.entity.OrderHist;
 import com.shop.entity.OrderItem;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,6 +15,13 @@ public class OrderItemDto {
         this.imgUrl = imgUrl;
     }
 
+    public OrderItemDto(OrderHist orderHist){
+        this.itemNm = orderHist.getItemNm();
+        this.count = orderHist.getCount();
+        this.orderPrice = orderHist.getOrderPrice();
+        this.imgUrl = orderHist.getImgUrl();
+    }
+
     private String itemNm; //상품명
     private int count; //주문 수량
 
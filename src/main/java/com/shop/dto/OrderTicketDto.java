@@ -0,0 +1,42 @@
+package com.shop.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.shop.constant.OrderTicketStatus;
+import lombok.Getter;
+
+// 비동기 주문 접수 결과 (처리 상태는 /order/pending/{ticket} 으로 조회)
+@Getter
+public class OrderTicketDto {
+
+    private String ticket; //접수 번호
+
+    private OrderTicketStatus status; //처리 상태
+
+    private Long orderId; //처리된 주문 id (COMPLETED)
+
+    private String message; //실패 사유 (FAILED)
+
+    @JsonIgnore
+    private Long memberId; //접수한 회원 (본인만 조회 가능)
+
+    private OrderTicketDto(String ticket, OrderTicketStatus status, Long orderId, String message, Long memberId){
+        this.ticket = ticket;
+        this.status = status;
+        this.orderId = orderId;
+        this.message = message;
+        this.memberId = memberId;
+    }
+
+    public static OrderTicketDto pending(String ticket, Long memberId){
+        return new OrderTicketDto(ticket, OrderTicketStatus.PENDING, null, null, memberId);
+    }
+
+    public OrderTicketDto complete(Long orderId){
+        return new OrderTicketDto(ticket, OrderTicketStatus.COMPLETED, orderId, null, memberId);
+    }
+
+    public OrderTicketDto fail(String message){
+        return new OrderTicketDto(ticket, OrderTicketStatus.FAILED, null, message, memberId);
+    }
+
+}
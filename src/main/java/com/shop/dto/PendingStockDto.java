@@ -0,0 +1,22 @@
+package com.shop.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// 한정 판매 상품 주문 중 item 테이블에 재고 차감이 아직 반영되지 않은 주문 상품
+@Getter @Setter
+public class PendingStockDto {
+
+    private Long orderItemId;
+
+    private Long itemId;
+
+    private int count;
+
+    public PendingStockDto(Long orderItemId, Long itemId, int count){
+        this.orderItemId = orderItemId;
+        this.itemId = itemId;
+        this.count = count;
+    }
+
+}
@@ -6,7 +6,9 @@ import lombok.ToString;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "cart")
+@Table(name = "cart", indexes = {
+        @Index(name = "idx_cart_member", columnList = "member_id")
+})
 @Getter @Setter
 @ToString
 public class Cart extends BaseEntity {
@@ -6,7 +6,10 @@ import jakarta.persistence.*;
 
 @Entity
 @Getter @Setter
-@Table(name="cart_item")
+@Table(name="cart_item", indexes = {
+        @Index(name = "idx_cart_item_cart_reg_time", columnList = "cart_id, regTime"),
+        @Index(name = "idx_cart_item_update_time", columnList = "updateTime, cart_item_id")
+})
 public class CartItem extends BaseEntity {
 
     @Id
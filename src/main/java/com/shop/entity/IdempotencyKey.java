@@ -0,0 +1,45 @@
+package com.shop.entity;
+
+import com.shop.constant.IdempotencyEndpoint;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import jakarta.persistence.*;
+
+// 주문 요청의 Idempotency-Key 헤더 값과 처리된 주문 id
+// 회원/API별로 같은 키는 한 번만 저장되므로 여러 서버에서 동시에 요청해도 주문은 한 번만 처리됨
+@Entity
+@Table(name = "idempotency_key", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idempotency_key", columnNames = {"email", "endpoint", "idempotencyKey"})
+})
+@Getter @Setter
+@ToString
+public class IdempotencyKey extends BaseTimeEntity {
+
+    @Id @GeneratedValue
+    @Column(name = "idempotency_key_id")
+    private Long id;
+
+    @Column(nullable = false)
+    private String email;
+
+    // 컬럼 추가 전에 저장된 키는 null (idempotencyKeyTtlHours 후 정리됨)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private IdempotencyEndpoint endpoint;
+
+    @Column(nullable = false, length = 100)
+    private String idempotencyKey;
+
+    private Long orderId;
+
+    public static IdempotencyKey createIdempotencyKey(String email, IdempotencyEndpoint endpoint, String idempotencyKey){
+        IdempotencyKey key = new IdempotencyKey();
+        key.setEmail(email);
+        key.setEndpoint(endpoint);
+        key.setIdempotencyKey(idempotencyKey);
+        return key;
+    }
+
+}
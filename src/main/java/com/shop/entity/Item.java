@@ -16,6 +16,8 @@ import com.shop.exception.OutOfStockException;
 @ToString
 public class Item extends BaseEntity {
 
+    public static final int SUMMARY_LENGTH = 100;
+
     @Id
     @Column(name="item_id")
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -31,18 +33,46 @@ public class Item extends BaseEntity {
     private int stockNumber; //재고수량
 
     @Lob
+    @Basic(fetch = FetchType.LAZY)
     @Column(nullable = false)
-    private String itemDetail; //상품 상세 설명
+    @ToString.Exclude
+    private String itemDetail; //상품 상세 설명 (상세 조회 시에만 로딩)
+
+    @Column(length = SUMMARY_LENGTH)
+    private String itemSummary; //목록 조회용 상품 설명 요약
 
     @Enumerated(EnumType.STRING)
     private ItemSellStatus itemSellStatus; //상품 판매 상태
 
+    private String repImgUrl; //대표 이미지 조회 경로 (목록 조회 시 ItemImg 조인을 피하기 위해 보관)
+
+    @Column(length = 1)
+    private String hotItemYn; //한정 판매 상품 여부 (Y: 재고를 메모리에서 차감하고 주기적으로 반영)
+
     public void updateItem(ItemFormDto itemFormDto){
         this.itemNm = itemFormDto.getItemNm();
         this.price = itemFormDto.getPrice();
         this.stockNumber = itemFormDto.getStockNumber();
         this.itemDetail = itemFormDto.getItemDetail();
         this.itemSellStatus = itemFormDto.getItemSellStatus();
+        this.hotItemYn = itemFormDto.getHotItemYn();
+        updateItemSummary();
+    }
+
+    public void updateItemSummary(){
+        this.itemSummary = summarize(this.itemDetail);
+    }
+
+    public static String summarize(String itemDetail){
+        if(itemDetail == null){
+            return null;
+        }
+        String summary = itemDetail.strip().replaceAll("\\s+", " ");
+        return summary.length() > SUMMARY_LENGTH ? summary.substring(0, SUMMARY_LENGTH) : summary;
+    }
+
+    public void updateRepImgUrl(String repImgUrl){
+        this.repImgUrl = repImgUrl;
     }
 
     public void removeStock(int stockNumber){
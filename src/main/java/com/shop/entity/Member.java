@@ -32,6 +32,12 @@ public class Member extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // 구매 이력 전체 건수. 주문 시 OrderService에서 증가시키며, null이면 아직 마이그레이션되지 않은 회원
+    private Long orderCount;
+
+    // 기존 주문으로 구매 이력(order_hist)을 채웠는지 여부. null이면 DataBackfillRunner에서 채움
+    private String orderHistYn;
+
     public static Member createMember(MemberFormDto memberFormDto, PasswordEncoder passwordEncoder){
         Member member = new Member();
         member.setName(memberFormDto.getName());
@@ -40,6 +46,8 @@ public class Member extends BaseEntity {
         String password = passwordEncoder.encode(memberFormDto.getPassword());
         member.setPassword(password);
         member.setRole(Role.ADMIN);
+        member.setOrderCount(0L);
+        member.setOrderHistYn("Y");
         return member;
     }
 
@@ -57,11 +57,4 @@ public class Order extends BaseEntity {
         return totalPrice;
     }
 
-    public void cancelOrder() {
-        this.orderStatus = OrderStatus.CANCEL;
-        for (OrderItem orderItem : orderItems) {
-            orderItem.cancel();
-        }
-    }
-
 }
\ No newline at end of file
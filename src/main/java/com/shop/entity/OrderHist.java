@@ -0,0 +1,61 @@
+package com.shop.entity;
+
+import com.shop.constant.OrderStatus;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// 구매 이력 조회용 테이블 (주문 상품 1건당 1행)
+// 주문/취소 시 OrderService에서 같은 트랜잭션으로 갱신하며, 조회 시에는 엔티티 연관관계를 따라가지 않음
+@Entity
+@Table(name = "order_hist", indexes = {
+        @Index(name = "idx_order_hist_member_seq", columnList = "member_id, orderSeq"),
+        @Index(name = "idx_order_hist_order", columnList = "order_id")
+})
+@Getter @Setter
+@ToString
+public class OrderHist {
+
+    @Id @GeneratedValue
+    @Column(name = "order_hist_id")
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    private Long orderSeq; //주문 순번 (주문 id, 회원별 구매 이력의 정렬/커서 기준)
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    private LocalDateTime orderDate; //주문일
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus; //주문상태
+
+    private String itemNm; //상품명
+
+    private int orderPrice; //주문가격
+
+    private int count; //수량
+
+    private String imgUrl; //상품 대표 이미지 경로
+
+    public static OrderHist createOrderHist(Order order, OrderItem orderItem, Long memberId, Long orderSeq){
+        OrderHist orderHist = new OrderHist();
+        orderHist.setMemberId(memberId);
+        orderHist.setOrderSeq(orderSeq);
+        orderHist.setOrderId(order.getId());
+        orderHist.setOrderDate(order.getOrderDate());
+        orderHist.setOrderStatus(order.getOrderStatus());
+        orderHist.setItemNm(orderItem.getItem().getItemNm());
+        orderHist.setOrderPrice(orderItem.getOrderPrice());
+        orderHist.setCount(orderItem.getCount());
+        orderHist.setImgUrl(orderItem.getItem().getRepImgUrl());
+        return orderHist;
+    }
+
+}
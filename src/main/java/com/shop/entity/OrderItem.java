@@ -5,6 +5,9 @@ import lombok.Setter;
 import jakarta.persistence.*;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_order_item_stock_applied", columnList = "stockAppliedYn")
+})
 @Getter @Setter
 public class OrderItem extends BaseEntity {
 
@@ -24,12 +27,14 @@ public class OrderItem extends BaseEntity {
 
     private int count; //수량
 
+    @Column(length = 1)
+    private String stockAppliedYn; //item 재고 반영 여부 (N: 한정 판매 상품으로 메모리에서만 차감, HotItemStock에서 반영)
+
     public static OrderItem createOrderItem(Item item, int count){
         OrderItem orderItem = new OrderItem();
         orderItem.setItem(item);
         orderItem.setCount(count);
         orderItem.setOrderPrice(item.getPrice());
-        item.removeStock(count);
         return orderItem;
     }
 
@@ -37,8 +42,4 @@ public class OrderItem extends BaseEntity {
         return orderPrice*count;
     }
 
-    public void cancel() {
-        this.getItem().addStock(count);
-    }
-
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.shop.event;
+
+import lombok.Getter;
+
+// 상품 등록/수정이 발생했을 때 발행되는 이벤트 (캐시, 인덱스 갱신용)
+@Getter
+public class ItemChangedEvent {
+
+    private final Long itemId;
+
+    public ItemChangedEvent(Long itemId){
+        this.itemId = itemId;
+    }
+
+}
@@ -4,21 +4,76 @@ import com.shop.entity.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.shop.dto.CartDetailDto;
+import com.shop.dto.CartItemCountDto;
+import com.shop.dto.CartItemPurgeDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
     CartItem findByCartIdAndItemId(Long cartId, Long itemId);
 
-    @Query("select new com.shop.dto.CartDetailDto(ci.id, i.itemNm, i.price, ci.count, im.imgUrl) " +
-            "from CartItem ci, ItemImg im " +
+    // 회원 id로 장바구니를 거치지 않고 바로 장바구니 상품을 조회 (cart.member_id, cart_item(cart_id, regTime) 인덱스 사용)
+    @Query("select new com.shop.dto.CartDetailDto(ci.id, i.itemNm, i.price, ci.count, i.repImgUrl) " +
+            "from CartItem ci " +
+            "join ci.cart c " +
             "join ci.item i " +
-            "where ci.cart.id = :cartId " +
-            "and im.item.id = ci.item.id " +
-            "and im.repimgYn = 'Y' " +
+            "where c.member.id = :memberId " +
             "order by ci.regTime desc"
             )
-    List<CartDetailDto> findCartDetailDtoList(Long cartId);
+    List<CartDetailDto> findCartDetailDtoList(@Param("memberId") Long memberId);
+
+    @Query("select new com.shop.dto.CartItemCountDto(ci.id, ci.count) " +
+            "from CartItem ci " +
+            "where ci.cart.member.id = :memberId " +
+            "order by ci.id"
+            )
+    List<CartItemCountDto> findCartItemCounts(@Param("memberId") Long memberId);
+
+    // 회원의 장바구니 상품 전체 (일괄 변경용)
+    @Query("select ci from CartItem ci " +
+            "where ci.cart.member.id = :memberId"
+            )
+    List<CartItem> findMemberCartItems(@Param("memberId") Long memberId);
+
+    // 주문할 장바구니 상품을 상품과 함께 조회. 본인 장바구니의 상품만 조회되므로 건수로 권한을 확인
+    @Query("select ci from CartItem ci " +
+            "join fetch ci.item " +
+            "where ci.id in :cartItemIds and ci.cart.member.id = :memberId"
+            )
+    List<CartItem> findOrderCartItems(@Param("cartItemIds") List<Long> cartItemIds, @Param("memberId") Long memberId);
+
+    // 장바구니 상품의 소유 회원 id (권한 확인용)
+    @Query("select ci.cart.member.id from CartItem ci where ci.id = :cartItemId")
+    Long findMemberId(@Param("cartItemId") Long cartItemId);
+
+    // 마지막으로 변경된 지 오래된 장바구니 상품 (updateTime, id 기준 keyset 조회)
+    @Query("select new com.shop.dto.CartItemPurgeDto(ci.id, ci.updateTime) " +
+            "from CartItem ci " +
+            "where ci.updateTime < :before " +
+            "and (ci.updateTime > :lastUpdateTime or (ci.updateTime = :lastUpdateTime and ci.id > :lastId)) " +
+            "order by ci.updateTime, ci.id"
+            )
+    List<CartItemPurgeDto> findStaleCartItems(@Param("before") LocalDateTime before,
+                                              @Param("lastUpdateTime") LocalDateTime lastUpdateTime,
+                                              @Param("lastId") Long lastId, Pageable pageable);
+
+    // 조회 후 다시 변경된 장바구니 상품은 삭제하지 않음
+    @Modifying
+    @Query("delete from CartItem ci where ci.id in :cartItemIds and ci.updateTime < :before")
+    int deleteStaleByIds(@Param("cartItemIds") List<Long> cartItemIds, @Param("before") LocalDateTime before);
+
+    // 메모리 장바구니 수량 반영. 바로 실행되어야 실행 순서를 보장할 수 있으므로 변경 감지 대신 사용
+    @Modifying
+    @Query("update CartItem ci set ci.count = :count, ci.updateTime = :now where ci.id = :cartItemId")
+    int updateCount(@Param("cartItemId") Long cartItemId, @Param("count") int count, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from CartItem ci where ci.id in :cartItemIds")
+    int deleteByIds(@Param("cartItemIds") List<Long> cartItemIds);
 
 }
\ No newline at end of file
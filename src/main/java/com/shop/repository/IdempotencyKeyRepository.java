@@ -0,0 +1,31 @@
+package com.shop.repository;
+
+import com.shop.constant.IdempotencyEndpoint;
+import com.shop.entity.IdempotencyKey;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    @Query("select k.orderId from IdempotencyKey k " +
+            "where k.email = :email and k.endpoint = :endpoint and k.idempotencyKey = :idempotencyKey")
+    Long findOrderId(@Param("email") String email, @Param("endpoint") IdempotencyEndpoint endpoint,
+                     @Param("idempotencyKey") String idempotencyKey);
+
+    // 정리 대상 키 (id 기준 keyset 조회)
+    @Query("select k.id from IdempotencyKey k " +
+            "where k.regTime < :before and k.id > :lastId " +
+            "order by k.id asc")
+    List<Long> findExpiredIds(@Param("before") LocalDateTime before, @Param("lastId") Long lastId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.id in :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+}
@@ -1,10 +1,17 @@
 package com.shop.repository;
 
+import com.shop.dto.ItemIndexDto;
+import com.shop.dto.ItemSuggestDto;
+import com.shop.dto.ItemVersionDto;
 import com.shop.entity.Item;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long>,
@@ -22,5 +29,85 @@ public interface ItemRepository extends JpaRepository<Item, Long>,
             "%:itemDetail% order by i.price desc")
     List<Item> findByItemDetail(@Param("itemDetail") String itemDetail);
 
+    // 검색 색인 생성용 (지연 로딩되는 상세 설명을 한 번에 조회)
+    // 메인 화면에 노출되지 않는 상품(대표 이미지 없음)은 색인하지 않아서 검색 결과 건수와 페이지 내용이 일치하도록 함
+    @Query("select new com.shop.dto.ItemIndexDto(i.id, i.itemNm, i.itemDetail) from Item i " +
+            "where i.id > :lastId and i.repImgUrl is not null order by i.id asc")
+    List<ItemIndexDto> findItemIndexAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("select new com.shop.dto.ItemIndexDto(i.id, i.itemNm, i.itemDetail) from Item i " +
+            "where i.id = :itemId and i.repImgUrl is not null")
+    ItemIndexDto findItemIndex(@Param("itemId") Long itemId);
+
+    @Query("select new com.shop.dto.ItemSuggestDto(i.id, i.itemNm) from Item i " +
+            "where i.id > :lastId order by i.id asc")
+    List<ItemSuggestDto> findItemNmAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("select new com.shop.dto.ItemSuggestDto(i.id, i.itemNm) from Item i " +
+            "where i.id = :itemId")
+    ItemSuggestDto findItemSuggest(@Param("itemId") Long itemId);
+
+    // 조건부 조회(ETag)용 버전 정보. 상세 조회 없이 수정 시간만 조회
+    @Query("select new com.shop.dto.ItemVersionDto(i.updateTime, " +
+            "(select max(im.updateTime) from ItemImg im where im.item = i)) " +
+            "from Item i where i.id = :itemId")
+    ItemVersionDto findItemVersion(@Param("itemId") Long itemId);
+
+    // 재고가 충분할 때만 차감. 영향받은 행이 0이면 재고 부족(또는 상품 없음)
+    // 수정 시간도 함께 갱신해서 상품 상세 ETag가 바뀌도록 함
+    @Modifying
+    @Query("update Item i set i.stockNumber = i.stockNumber - :count, i.updateTime = :now " +
+            "where i.id = :itemId and i.stockNumber >= :count")
+    int decreaseStock(@Param("itemId") Long itemId, @Param("count") int count, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Item i set i.stockNumber = i.stockNumber + :count, i.updateTime = :now " +
+            "where i.id = :itemId")
+    int increaseStock(@Param("itemId") Long itemId, @Param("count") int count, @Param("now") LocalDateTime now);
+
+    @Query("select i.stockNumber from Item i where i.id = :itemId")
+    Integer findStockNumber(@Param("itemId") Long itemId);
+
+    // 한정 판매 상품의 메모리 차감분을 반영. 재고가 부족하면(그 사이 관리자가 재고를 줄인 경우 등) 갱신하지 않고 0을 반환
+    @Modifying
+    @Query("update Item i set i.stockNumber = i.stockNumber - :count, i.updateTime = :now " +
+            "where i.id = :itemId and i.stockNumber >= :count")
+    int applyReservedStock(@Param("itemId") Long itemId, @Param("count") int count, @Param("now") LocalDateTime now);
+
+    // 재고보다 많이 차감된 경우 음수가 되지 않도록 0으로 맞춤
+    @Modifying
+    @Query("update Item i set i.stockNumber = 0, i.updateTime = :now where i.id = :itemId")
+    int clearStock(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    @Query("select i.id from Item i where i.hotItemYn = 'Y'")
+    List<Long> findHotItemIds();
+
+    @Query("select i.hotItemYn from Item i where i.id = :itemId")
+    String findHotItemYn(@Param("itemId") Long itemId);
+
+    // 아직 반영되지 않은 주문 수량을 뺀 재고 (한 문장으로 조회해서 두 값이 같은 시점이 되도록 함)
+    @Query("select i.stockNumber - coalesce((select sum(oi.count) from OrderItem oi " +
+            "where oi.item = i and oi.stockAppliedYn = 'N'), 0) " +
+            "from Item i where i.id = :itemId")
+    Integer findUnreservedStock(@Param("itemId") Long itemId);
+
+    // 대표 이미지 경로가 비어있는 기존 상품에 item_img의 대표 이미지 경로를 채움
+    @Modifying
+    @Query("update Item i set i.repImgUrl = " +
+            "(select max(im.imgUrl) from ItemImg im where im.item = i and im.repimgYn = 'Y') " +
+            "where i.repImgUrl is null " +
+            "and exists (select im2.id from ItemImg im2 where im2.item = i and im2.repimgYn = 'Y')")
+    int backfillRepImgUrl();
+
+    // 요약이 비어있는 기존 상품 (id 기준 keyset 조회, 요약은 Item.summarize로 만들어서 채움)
+    @Query("select new com.shop.dto.ItemIndexDto(i.id, i.itemNm, i.itemDetail) from Item i " +
+            "where i.itemSummary is null and i.itemDetail is not null and i.id > :lastId order by i.id asc")
+    List<ItemIndexDto> findItemSummaryBackfill(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 그 사이 상품이 수정되어 요약이 채워졌으면 덮어쓰지 않음
+    @Modifying
+    @Query("update Item i set i.itemSummary = :itemSummary where i.id = :itemId and i.itemSummary is null")
+    int backfillItemSummary(@Param("itemId") Long itemId, @Param("itemSummary") String itemSummary);
+
     
 }
\ No newline at end of file
@@ -1,15 +1,40 @@
 package com.shop.repository;
 
+import com.shop.dto.AdminItemDto;
+import com.shop.dto.ItemFormDto;
 import com.shop.dto.ItemSearchDto;
-import com.shop.entity.Item;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import com.shop.dto.MainItemDto;
 
+import java.util.List;
+import java.util.function.LongSupplier;
+
 public interface ItemRepositoryCustom {
 
-    Page<Item> getAdminItemPage(ItemSearchDto itemSearchDto, Pageable pageable);
+    Page<AdminItemDto> getAdminItemPage(ItemSearchDto itemSearchDto, Pageable pageable);
+
+    Page<AdminItemDto> getAdminItemPage(ItemSearchDto itemSearchDto, Pageable pageable, LongSupplier totalCount);
+
+    Slice<AdminItemDto> getAdminItemSlice(ItemSearchDto itemSearchDto, Pageable pageable);
+
+    long countAdminItem(ItemSearchDto itemSearchDto);
 
     Page<MainItemDto> getMainItemPage(ItemSearchDto itemSearchDto, Pageable pageable);
 
+    Page<MainItemDto> getMainItemPage(ItemSearchDto itemSearchDto, Pageable pageable, LongSupplier totalCount);
+
+    Slice<MainItemDto> getMainItemSlice(ItemSearchDto itemSearchDto, Pageable pageable);
+
+    long countMainItem(ItemSearchDto itemSearchDto);
+
+    List<AdminItemDto> getAdminItemsAfter(ItemSearchDto itemSearchDto, Long lastItemId, int limit);
+
+    List<MainItemDto> getMainItemsAfter(ItemSearchDto itemSearchDto, Long lastItemId, int limit);
+
+    List<MainItemDto> getMainItemsByIds(List<Long> itemIds);
+
+    ItemFormDto getItemDtl(Long itemId);
+
 }
\ No newline at end of file
@@ -1,24 +1,30 @@
 package com.shop.repository;
 
-import com.querydsl.core.QueryResults;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Wildcard;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.shop.constant.ItemSellStatus;
+import com.shop.dto.AdminItemDto;
+import com.shop.dto.ItemFormDto;
+import com.shop.dto.ItemImgDto;
 import com.shop.dto.ItemSearchDto;
 import com.shop.dto.MainItemDto;
+import com.shop.dto.QAdminItemDto;
 import com.shop.dto.QMainItemDto;
-import com.shop.entity.Item;
 import com.shop.entity.QItem;
 import com.shop.entity.QItemImg;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.thymeleaf.util.StringUtils;
 
 import jakarta.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.LongSupplier;
 
 public class ItemRepositoryCustomImpl implements ItemRepositoryCustom{
 
@@ -62,28 +68,64 @@ public class ItemRepositoryCustomImpl implements ItemRepositoryCustom{
         return null;
     }
 
+    // 관리자 목록은 엔티티 대신 목록에 필요한 컬럼만 조회 (상세 설명 @Lob 제외)
+    private QAdminItemDto adminItemProjection(){
+        QItem item = QItem.item;
+        return new QAdminItemDto(
+                item.id,
+                item.itemNm,
+                item.price,
+                item.stockNumber,
+                item.itemSellStatus,
+                item.createdBy,
+                item.regTime);
+    }
+
+    private BooleanExpression itemIdLt(Long lastItemId){
+        return lastItemId == null ? null : QItem.item.id.lt(lastItemId);
+    }
+
     @Override
-    public Page<Item> getAdminItemPage(ItemSearchDto itemSearchDto, Pageable pageable) {
+    public Page<AdminItemDto> getAdminItemPage(ItemSearchDto itemSearchDto, Pageable pageable) {
+        return getAdminItemPage(itemSearchDto, pageable, () -> countAdminItem(itemSearchDto));
+    }
 
-        List<Item> content = queryFactory
-                .selectFrom(QItem.item)
-                .where(regDtsAfter(itemSearchDto.getSearchDateType()),
-                        searchSellStatusEq(itemSearchDto.getSearchSellStatus()),
-                        searchByLike(itemSearchDto.getSearchBy(),
-                                itemSearchDto.getSearchQuery()))
-                .orderBy(QItem.item.id.desc())
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetch();
+    // 건수는 호출하는 쪽에서 전달 (캐시된 건수 등). 마지막 페이지가 확실하면 건수 조회를 생략
+    @Override
+    public Page<AdminItemDto> getAdminItemPage(ItemSearchDto itemSearchDto, Pageable pageable, LongSupplier totalCount) {
+        List<AdminItemDto> content = getAdminItemContent(itemSearchDto, pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, totalCount);
+    }
+
+    // 건수 조회 없이 pageSize + 1 건을 조회해서 다음 페이지 여부만 판단
+    @Override
+    public Slice<AdminItemDto> getAdminItemSlice(ItemSearchDto itemSearchDto, Pageable pageable) {
+        List<AdminItemDto> content = getAdminItemContent(itemSearchDto, pageable.getOffset(), pageable.getPageSize() + 1);
+        return toSlice(content, pageable);
+    }
 
-        long total = queryFactory.select(Wildcard.count).from(QItem.item)
+    @Override
+    public long countAdminItem(ItemSearchDto itemSearchDto) {
+        return queryFactory.select(Wildcard.count).from(QItem.item)
                 .where(regDtsAfter(itemSearchDto.getSearchDateType()),
                         searchSellStatusEq(itemSearchDto.getSearchSellStatus()),
                         searchByLike(itemSearchDto.getSearchBy(), itemSearchDto.getSearchQuery()))
                 .fetchOne()
                 ;
+    }
 
-        return new PageImpl<>(content, pageable, total);
+    private List<AdminItemDto> getAdminItemContent(ItemSearchDto itemSearchDto, long offset, int limit) {
+        return queryFactory
+                .select(adminItemProjection())
+                .from(QItem.item)
+                .where(regDtsAfter(itemSearchDto.getSearchDateType()),
+                        searchSellStatusEq(itemSearchDto.getSearchSellStatus()),
+                        searchByLike(itemSearchDto.getSearchBy(),
+                                itemSearchDto.getSearchQuery()))
+                .orderBy(QItem.item.id.desc())
+                .offset(offset)
+                .limit(limit)
+                .fetch();
     }
 
     private BooleanExpression itemNmLike(String searchQuery){
@@ -92,37 +134,158 @@ public class ItemRepositoryCustomImpl implements ItemRepositoryCustom{
 
     @Override
     public Page<MainItemDto> getMainItemPage(ItemSearchDto itemSearchDto, Pageable pageable) {
+        return getMainItemPage(itemSearchDto, pageable, () -> countMainItem(itemSearchDto));
+    }
+
+    @Override
+    public Page<MainItemDto> getMainItemPage(ItemSearchDto itemSearchDto, Pageable pageable, LongSupplier totalCount) {
+        List<MainItemDto> content = getMainItemContent(itemSearchDto, pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, totalCount);
+    }
+
+    @Override
+    public Slice<MainItemDto> getMainItemSlice(ItemSearchDto itemSearchDto, Pageable pageable) {
+        List<MainItemDto> content = getMainItemContent(itemSearchDto, pageable.getOffset(), pageable.getPageSize() + 1);
+        return toSlice(content, pageable);
+    }
+
+    @Override
+    public long countMainItem(ItemSearchDto itemSearchDto) {
+        QItem item = QItem.item;
+
+        return queryFactory
+                .select(Wildcard.count)
+                .from(item)
+                .where(item.repImgUrl.isNotNull())
+                .where(itemNmLike(itemSearchDto.getSearchQuery()))
+                .fetchOne()
+                ;
+    }
+
+    private List<MainItemDto> getMainItemContent(ItemSearchDto itemSearchDto, long offset, int limit) {
         QItem item = QItem.item;
-        QItemImg itemImg = QItemImg.itemImg;
 
-        List<MainItemDto> content = queryFactory
+        return queryFactory
                 .select(
                         new QMainItemDto(
                                 item.id,
                                 item.itemNm,
-                                item.itemDetail,
-                                itemImg.imgUrl,
+                                item.itemSummary,
+                                item.repImgUrl,
                                 item.price)
                 )
-                .from(itemImg)
-                .join(itemImg.item, item)
-                .where(itemImg.repimgYn.eq("Y"))
+                .from(item)
+                .where(item.repImgUrl.isNotNull())
                 .where(itemNmLike(itemSearchDto.getSearchQuery()))
                 .orderBy(item.id.desc())
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
+                .offset(offset)
+                .limit(limit)
                 .fetch();
+    }
 
-        long total = queryFactory
-                .select(Wildcard.count)
-                .from(itemImg)
-                .join(itemImg.item, item)
-                .where(itemImg.repimgYn.eq("Y"))
-                .where(itemNmLike(itemSearchDto.getSearchQuery()))
-                .fetchOne()
-                ;
+    private <T> Slice<T> toSlice(List<T> content, Pageable pageable) {
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if(hasNext){
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public List<AdminItemDto> getAdminItemsAfter(ItemSearchDto itemSearchDto, Long lastItemId, int limit) {
+        return queryFactory
+                .select(adminItemProjection())
+                .from(QItem.item)
+                .where(regDtsAfter(itemSearchDto.getSearchDateType()),
+                        searchSellStatusEq(itemSearchDto.getSearchSellStatus()),
+                        searchByLike(itemSearchDto.getSearchBy(),
+                                itemSearchDto.getSearchQuery()),
+                        itemIdLt(lastItemId))
+                .orderBy(QItem.item.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<MainItemDto> getMainItemsAfter(ItemSearchDto itemSearchDto, Long lastItemId, int limit) {
+        QItem item = QItem.item;
+
+        return queryFactory
+                .select(
+                        new QMainItemDto(
+                                item.id,
+                                item.itemNm,
+                                item.itemSummary,
+                                item.repImgUrl,
+                                item.price)
+                )
+                .from(item)
+                .where(item.repImgUrl.isNotNull())
+                .where(itemNmLike(itemSearchDto.getSearchQuery()),
+                        itemIdLt(lastItemId))
+                .orderBy(item.id.desc())
+                .limit(limit)
+                .fetch();
+    }
 
-        return new PageImpl<>(content, pageable, total);
+    // 검색 색인에서 찾은 상품 id로 조회
+    @Override
+    public List<MainItemDto> getMainItemsByIds(List<Long> itemIds) {
+        QItem item = QItem.item;
+
+        return queryFactory
+                .select(
+                        new QMainItemDto(
+                                item.id,
+                                item.itemNm,
+                                item.itemSummary,
+                                item.repImgUrl,
+                                item.price)
+                )
+                .from(item)
+                .where(item.repImgUrl.isNotNull())
+                .where(item.id.in(itemIds))
+                .orderBy(item.id.desc())
+                .fetch();
+    }
+
+    // 상품과 이미지를 한 번의 조회(left join)로 가져와서 직접 매핑
+    @Override
+    public ItemFormDto getItemDtl(Long itemId) {
+        QItem item = QItem.item;
+        QItemImg itemImg = QItemImg.itemImg;
+
+        List<Tuple> rows = queryFactory
+                .select(item.id, item.itemNm, item.price, item.itemDetail, item.stockNumber, item.itemSellStatus,
+                        item.hotItemYn, itemImg.id, itemImg.imgName, itemImg.oriImgName, itemImg.imgUrl, itemImg.repimgYn)
+                .from(item)
+                .leftJoin(itemImg).on(itemImg.item.eq(item))
+                .where(item.id.eq(itemId))
+                .orderBy(itemImg.id.asc())
+                .fetch();
+
+        if(rows.isEmpty()){
+            return null;
+        }
+
+        Tuple first = rows.get(0);
+        ItemFormDto itemFormDto = new ItemFormDto();
+        itemFormDto.setId(first.get(item.id));
+        itemFormDto.setItemNm(first.get(item.itemNm));
+        itemFormDto.setPrice(first.get(item.price));
+        itemFormDto.setItemDetail(first.get(item.itemDetail));
+        itemFormDto.setStockNumber(first.get(item.stockNumber));
+        itemFormDto.setItemSellStatus(first.get(item.itemSellStatus));
+        itemFormDto.setHotItemYn(first.get(item.hotItemYn));
+
+        for (Tuple row : rows) {
+            Long itemImgId = row.get(itemImg.id);
+            if(itemImgId != null){
+                itemFormDto.getItemImgDtoList().add(new ItemImgDto(itemImgId, row.get(itemImg.imgName),
+                        row.get(itemImg.oriImgName), row.get(itemImg.imgUrl), row.get(itemImg.repimgYn)));
+            }
+        }
+        return itemFormDto;
     }
 
 }
\ No newline at end of file
@@ -1,10 +1,42 @@
 package com.shop.repository;
 
 import com.shop.entity.Member;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
 
     Member findByEmail(String email);
 
-}
\ No newline at end of file
+    // 동시에 주문해도 누락되지 않도록 DB에서 증가 (마이그레이션 전이라 null이면 0부터, 마이그레이션 시 다시 계산)
+    // 대기 중인 insert를 먼저 반영해서 회원 행 잠금은 커밋 직전에만 잡히도록 함
+    @Modifying(flushAutomatically = true)
+    @Query("update Member m set m.orderCount = coalesce(m.orderCount, 0) + 1 where m.id = :memberId")
+    int increaseOrderCount(@Param("memberId") Long memberId);
+
+    @Query("select m.orderCount from Member m where m.id = :memberId")
+    Long findOrderCount(@Param("memberId") Long memberId);
+
+    // 구매 이력을 아직 채우지 않은 회원 (id 기준 keyset 조회)
+    @Query("select m.id from Member m " +
+            "where m.orderHistYn is null and m.id > :lastId " +
+            "order by m.id asc")
+    List<Long> findOrderHistBackfillIds(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 구매 이력을 채우는 동안 같은 회원의 주문(주문 건수 증가)이 기다리도록 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Member m where m.id = :memberId")
+    Member findByIdForUpdate(@Param("memberId") Long memberId);
+
+    @Modifying
+    @Query("update Member m set m.orderCount = :orderCount, m.orderHistYn = 'Y' where m.id = :memberId")
+    int completeOrderHistBackfill(@Param("memberId") Long memberId, @Param("orderCount") Long orderCount);
+
+}
@@ -0,0 +1,36 @@
+package com.shop.repository;
+
+import com.shop.constant.OrderStatus;
+import com.shop.entity.OrderHist;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OrderHistRepository extends JpaRepository<OrderHist, Long> {
+
+    // beforeSeq 보다 작은 주문 순번을 최신순으로 페이지 크기만큼 조회 (member_id, orderSeq 인덱스)
+    // 순번 범위를 계산하지 않으므로 순번이 연속되지 않아도 페이지가 덜 채워지지 않음
+    @Query("select distinct h.orderSeq from OrderHist h " +
+            "where h.memberId = :memberId and h.orderSeq < :beforeSeq " +
+            "order by h.orderSeq desc")
+    List<Long> findOrderSeqs(@Param("memberId") Long memberId, @Param("beforeSeq") Long beforeSeq, Pageable pageable);
+
+    @Query("select h from OrderHist h " +
+            "where h.memberId = :memberId and h.orderSeq in :orderSeqs " +
+            "order by h.orderSeq desc, h.id asc")
+    List<OrderHist> findOrderHists(@Param("memberId") Long memberId, @Param("orderSeqs") List<Long> orderSeqs);
+
+    // 마이그레이션 중단 등으로 일부만 채워진 구매 이력을 지우고 다시 채울 때 사용
+    @Modifying
+    @Query("delete from OrderHist h where h.memberId = :memberId")
+    int deleteByMemberId(@Param("memberId") Long memberId);
+
+    @Modifying
+    @Query("update OrderHist h set h.orderStatus = :orderStatus where h.orderId in :orderIds")
+    int updateOrderStatus(@Param("orderIds") List<Long> orderIds, @Param("orderStatus") OrderStatus orderStatus);
+
+}
@@ -1,8 +1,51 @@
 package com.shop.repository;
 
+import com.shop.dto.ItemPopularityDto;
+import com.shop.dto.ItemStockCountDto;
+import com.shop.dto.PendingStockDto;
 import com.shop.entity.OrderItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
-}
\ No newline at end of file
+    @Query("select new com.shop.dto.ItemPopularityDto(oi.item.id, sum(oi.count)) " +
+            "from OrderItem oi " +
+            "group by oi.item.id"
+    )
+    List<ItemPopularityDto> findItemPopularity();
+
+    // 구매 이력 테이블 마이그레이션용. 회원의 주문 상품을 주문 순서대로 조회
+    @Query("select oi from OrderItem oi " +
+            "join fetch oi.order o join fetch oi.item " +
+            "where o.member.id = :memberId " +
+            "order by o.orderDate asc, o.id asc, oi.id asc"
+    )
+    List<OrderItem> findOrderItemsForHist(@Param("memberId") Long memberId);
+
+    @Query("select new com.shop.dto.PendingStockDto(oi.id, oi.item.id, oi.count) " +
+            "from OrderItem oi " +
+            "where oi.stockAppliedYn = 'N' " +
+            "order by oi.id asc"
+    )
+    List<PendingStockDto> findPendingStock(Pageable pageable);
+
+    // 취소할 주문의 수량을 상품별로 합산 (item_id 오름차순)
+    @Query("select new com.shop.dto.ItemStockCountDto(oi.item.id, sum(oi.count)) " +
+            "from OrderItem oi " +
+            "where oi.order.id in :orderIds " +
+            "group by oi.item.id " +
+            "order by oi.item.id asc"
+    )
+    List<ItemStockCountDto> findItemStockCounts(@Param("orderIds") List<Long> orderIds);
+
+    @Modifying
+    @Query("update OrderItem oi set oi.stockAppliedYn = 'Y' where oi.id in :orderItemIds")
+    int markStockApplied(@Param("orderItemIds") List<Long> orderItemIds);
+
+}
@@ -1,24 +1,51 @@
 package com.shop.repository;
 
+import com.shop.constant.OrderStatus;
 import com.shop.entity.Order;
-import org.springframework.data.jpa.repository.JpaRepository;
-
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    // 취소할 주문을 id 순서로 잠금 (동시에 취소해도 재고가 두 번 복구되지 않도록 상태도 함께 확인)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select o from Order o " +
-            "where o.member.email = :email " +
-            "order by o.orderDate desc"
-    )
-    List<Order> findOrders(@Param("email") String email, Pageable pageable);
-
-    @Query("select count(o) from Order o " +
-            "where o.member.email = :email"
-    )
-    Long countOrder(@Param("email") String email);
-}
\ No newline at end of file
+            "where o.id in :orderIds and o.orderStatus = :orderStatus " +
+            "order by o.id asc")
+    List<Order> findOrdersForCancel(@Param("orderIds") List<Long> orderIds,
+                                    @Param("orderStatus") OrderStatus orderStatus);
+
+    @Query("select o.id from Order o " +
+            "where o.orderStatus = :orderStatus " +
+            "and o.orderDate >= :orderDateFrom and o.orderDate < :orderDateTo " +
+            "and o.id > :lastId " +
+            "order by o.id asc")
+    List<Long> findOrderIdsAfter(@Param("orderStatus") OrderStatus orderStatus,
+                                 @Param("orderDateFrom") LocalDateTime orderDateFrom,
+                                 @Param("orderDateTo") LocalDateTime orderDateTo,
+                                 @Param("lastId") Long lastId,
+                                 Pageable pageable);
+
+    // 주문 건수가 아직 채워지지 않은 회원용
+    @Query("select count(o) from Order o where o.member.id = :memberId")
+    Long countOrder(@Param("memberId") Long memberId);
+
+    // 주문한 회원 id (권한 확인용)
+    @Query("select o.member.id from Order o where o.id = :orderId")
+    Long findMemberId(@Param("orderId") Long orderId);
+
+    @Modifying
+    @Query("update Order o set o.orderStatus = :orderStatus, o.updateTime = :now where o.id in :orderIds")
+    int updateOrderStatus(@Param("orderIds") List<Long> orderIds,
+                          @Param("orderStatus") OrderStatus orderStatus,
+                          @Param("now") LocalDateTime now);
+
+}
@@ -0,0 +1,307 @@
+package com.shop.service;
+
+import com.shop.dto.CartItemCountDto;
+import com.shop.repository.CartItemRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 장바구니 수량 변경(PATCH /cartItem/{cartItemId})을 메모리에 모았다가 주기적으로 cart_item에 반영 (cartStoreMode=memory)
+// 회원별로 장바구니 상품 id -> 수량을 보관하므로 권한 확인과 수량 변경에 DB 조회가 필요 없음
+// 같은 상품을 여러 번 변경해도 마지막 수량만 반영되며, 담기/삭제/주문 전과 종료 시에는 바로 반영
+@Component
+@Log
+public class CartItemStore {
+
+    private static final int FLUSH_CHUNK_SIZE = 100; //한 트랜잭션에서 반영할 장바구니 수
+
+    private static final long IDLE_MILLIS = 10 * 60 * 1000L;
+
+    private final CartItemRepository cartItemRepository;
+
+    private final CartSnapshotCache cartSnapshotCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final Map<Long, MemberCart> carts = new ConcurrentHashMap<>();
+
+    public CartItemStore(CartItemRepository cartItemRepository, CartSnapshotCache cartSnapshotCache,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${cartStoreMode:db}") String cartStoreMode){
+        this.cartItemRepository = cartItemRepository;
+        this.cartSnapshotCache = cartSnapshotCache;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = "memory".equals(cartStoreMode);
+    }
+
+    public boolean isEnabled(){
+        return enabled;
+    }
+
+    // 본인 장바구니의 상품이 아니면 false
+    public boolean updateCount(Long memberId, Long cartItemId, int count){
+        while (true) {
+            MemberCart cart = carts.computeIfAbsent(memberId, id -> new MemberCart());
+            synchronized (cart) {
+                if(cart.removed){
+                    continue;
+                }
+                if(cart.stale){
+                    cart.reload(cartItemRepository.findCartItemCounts(memberId));
+                }
+                cart.lastAccess = System.currentTimeMillis();
+                return cart.update(cartItemId, count);
+            }
+        }
+    }
+
+    // 반영되지 않은 수량 (장바구니 조회 시 DB 조회 결과에 덮어씀)
+    public Map<Long, Integer> getPendingCounts(Long memberId){
+        MemberCart cart = carts.get(memberId);
+        if(cart == null){
+            return Map.of();
+        }
+        synchronized (cart) {
+            return cart.pending();
+        }
+    }
+
+    // 담기/삭제/주문 전에 호출 (호출한 쪽의 트랜잭션에서 반영)
+    // 장바구니 상품 목록이 바뀌므로 다음 수량 변경 시 다시 적재
+    public void flush(Long memberId){
+        MemberCart cart = carts.get(memberId);
+        if(cart == null){
+            return;
+        }
+        Drained drained;
+        synchronized (cart) {
+            drained = cart.drain();
+            cart.stale = true;
+            cart.lastAccess = System.currentTimeMillis();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (cart) {
+                        if(status != STATUS_COMMITTED){
+                            cart.restore(drained);
+                        }
+                        cart.stale = true;
+                    }
+                }
+            });
+            apply(memberId, drained, LocalDateTime.now());
+        }
+    }
+
+    // 장바구니 상품이 일괄 삭제된 경우 다음 수량 변경 시 모두 다시 적재
+    public void markAllStale(){
+        for (MemberCart cart : carts.values()) {
+            synchronized (cart) {
+                cart.stale = true;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cartFlushMs:1000}")
+    public void flushAll(){
+        if(!enabled){
+            return;
+        }
+        long idleBefore = System.currentTimeMillis() - IDLE_MILLIS;
+        List<Map.Entry<Long, MemberCart>> dirtyCarts = new ArrayList<>();
+        for (Map.Entry<Long, MemberCart> entry : carts.entrySet()) {
+            MemberCart cart = entry.getValue();
+            synchronized (cart) {
+                if(cart.hasDirty()){
+                    dirtyCarts.add(entry);
+                } else if(cart.lastAccess < idleBefore){
+                    // 변경 없이 오래 사용하지 않은 장바구니는 메모리에서 제거
+                    cart.removed = true;
+                    carts.remove(entry.getKey(), cart);
+                }
+            }
+        }
+        for (int from = 0; from < dirtyCarts.size(); from += FLUSH_CHUNK_SIZE) {
+            flushChunk(dirtyCarts.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, dirtyCarts.size())));
+        }
+    }
+
+    // 종료 시 반영되지 않은 수량을 모두 반영
+    @PreDestroy
+    public void shutdown(){
+        flushAll();
+    }
+
+    // chunk 단위로 한 트랜잭션에서 반영. 락은 장바구니별로 꺼내서 UPDATE 할 때까지만 잡음
+    private void flushChunk(List<Map.Entry<Long, MemberCart>> chunk){
+        List<Drained> drainedList = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                for (Map.Entry<Long, MemberCart> entry : chunk) {
+                    MemberCart cart = entry.getValue();
+                    synchronized (cart) {
+                        Drained drained = cart.drain();
+                        drainedList.add(drained);
+                        apply(entry.getKey(), drained, now);
+                    }
+                }
+            });
+        } catch (RuntimeException e){
+            // 반영에 실패하면 다음 주기에 다시 반영 (그 사이에 다시 변경되거나 반영된 수량은 유지)
+            log.severe("장바구니 수량 반영 실패: " + e.getMessage());
+            for (Drained drained : drainedList) {
+                synchronized (drained.cart) {
+                    drained.cart.restore(drained);
+                }
+            }
+        }
+    }
+
+    // 장바구니 락을 잡은 상태에서 호출. 꺼낸 순서대로 UPDATE가 실행되므로 (이후 UPDATE는 행 락을 기다림)
+    // 나중에 꺼낸 수량이 먼저 꺼낸 수량에 덮어써지지 않음. 그 사이에 삭제된 장바구니 상품은 무시됨
+    private void apply(Long memberId, Drained drained, LocalDateTime now){
+        if(drained.pending.isEmpty()){
+            return;
+        }
+        drained.pending.forEach((cartItemId, count) -> cartItemRepository.updateCount(cartItemId, count, now));
+        cartSnapshotCache.evictAfterCommit(memberId);
+    }
+
+    // 반영하기 위해 꺼낸 수량 (실패 시 되돌리는 데 사용)
+    private static class Drained {
+
+        private final MemberCart cart;
+
+        private final long seq;
+
+        private final Map<Long, Integer> pending;
+
+        Drained(MemberCart cart, long seq, Map<Long, Integer> pending){
+            this.cart = cart;
+            this.seq = seq;
+            this.pending = pending;
+        }
+
+    }
+
+    // 회원 한 명의 장바구니. cartItemIds 오름차순으로 정렬된 배열로 보관
+    private static class MemberCart {
+
+        private long[] cartItemIds = new long[0];
+
+        private int[] counts = new int[0];
+
+        private boolean[] dirty = new boolean[0];
+
+        // 상품별로 마지막으로 꺼낸 번호. 이후에 다시 꺼낸 상품은 반영 실패 시 되돌리지 않음
+        private long[] drainSeqs = new long[0];
+
+        private long drainCount;
+
+        private int size;
+
+        private boolean stale = true;
+
+        private boolean removed;
+
+        private long lastAccess = System.currentTimeMillis();
+
+        boolean update(Long cartItemId, int count){
+            int pos = Arrays.binarySearch(cartItemIds, 0, size, cartItemId);
+            if(pos < 0){
+                return false;
+            }
+            counts[pos] = count;
+            dirty[pos] = true;
+            return true;
+        }
+
+        // DB에서 다시 적재. 반영되지 않은 수량은 유지하고 삭제된 상품은 제외
+        void reload(List<CartItemCountDto> rows){
+            long[] newIds = new long[rows.size()];
+            int[] newCounts = new int[rows.size()];
+            boolean[] newDirty = new boolean[rows.size()];
+            long[] newDrainSeqs = new long[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                CartItemCountDto row = rows.get(i);
+                newIds[i] = row.getCartItemId();
+                int pos = Arrays.binarySearch(cartItemIds, 0, size, newIds[i]);
+                if(pos >= 0){
+                    newDrainSeqs[i] = drainSeqs[pos];
+                }
+                if(pos >= 0 && dirty[pos]){
+                    newCounts[i] = counts[pos];
+                    newDirty[i] = true;
+                } else {
+                    newCounts[i] = row.getCount();
+                }
+            }
+            cartItemIds = newIds;
+            counts = newCounts;
+            dirty = newDirty;
+            drainSeqs = newDrainSeqs;
+            size = rows.size();
+            stale = false;
+        }
+
+        Map<Long, Integer> pending(){
+            Map<Long, Integer> pending = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                if(dirty[i]){
+                    pending.put(cartItemIds[i], counts[i]);
+                }
+            }
+            return pending;
+        }
+
+        boolean hasDirty(){
+            for (int i = 0; i < size; i++) {
+                if(dirty[i]){
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Drained drain(){
+            long seq = ++drainCount;
+            Map<Long, Integer> pending = pending();
+            for (int i = 0; i < size; i++) {
+                if(dirty[i]){
+                    dirty[i] = false;
+                    drainSeqs[i] = seq;
+                }
+            }
+            return new Drained(this, seq, pending);
+        }
+
+        // 반영에 실패한 수량을 되돌림 (이후에 다시 변경되었거나 다시 꺼낸 상품은 제외)
+        void restore(Drained drained){
+            drained.pending.forEach((cartItemId, count) -> {
+                int pos = Arrays.binarySearch(cartItemIds, 0, size, cartItemId);
+                if(pos >= 0 && !dirty[pos] && drainSeqs[pos] == drained.seq){
+                    counts[pos] = count;
+                    dirty[pos] = true;
+                }
+            });
+        }
+
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.shop.service;
+
+import com.shop.dto.CartItemPurgeDto;
+import com.shop.repository.CartItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 마지막으로 변경된 지 cartPurgeDays일이 지난 장바구니 상품을 삭제
+// (updateTime, id) 기준으로 chunkSize 건씩 조회해서 chunk마다 짧은 트랜잭션으로 삭제하고, chunk 사이에는 pauseMs 만큼 쉼
+// 메트릭: cart.purge.deleted (삭제 건수), cart.purge.chunks (처리한 chunk 수), cart.purge.duration (실행 시간)
+@Component
+@Log
+public class CartPurgeJob {
+
+    private static final LocalDateTime FIRST_KEY = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CartItemRepository cartItemRepository;
+
+    private final CartSnapshotCache cartSnapshotCache;
+
+    private final CartItemStore cartItemStore;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int purgeDays;
+
+    private final int chunkSize;
+
+    private final long pauseMs;
+
+    private final Counter deletedCounter;
+
+    private final Counter chunkCounter;
+
+    private final Timer purgeTimer;
+
+    public CartPurgeJob(CartItemRepository cartItemRepository, CartSnapshotCache cartSnapshotCache,
+                        CartItemStore cartItemStore, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                        @Value("${cartPurgeDays:30}") int purgeDays,
+                        @Value("${cartPurgeChunkSize:500}") int chunkSize,
+                        @Value("${cartPurgePauseMs:200}") long pauseMs){
+        this.cartItemRepository = cartItemRepository;
+        this.cartSnapshotCache = cartSnapshotCache;
+        this.cartItemStore = cartItemStore;
+        this.transactionTemplate = transactionTemplate;
+        this.purgeDays = purgeDays;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.deletedCounter = meterRegistry.counter("cart.purge.deleted");
+        this.chunkCounter = meterRegistry.counter("cart.purge.chunks");
+        this.purgeTimer = meterRegistry.timer("cart.purge.duration");
+    }
+
+    @Scheduled(cron = "${cartPurgeCron:0 30 4 * * *}")
+    public void purge(){
+        purgeTimer.record(this::run);
+    }
+
+    private void run(){
+        LocalDateTime before = LocalDateTime.now().minusDays(purgeDays);
+        LocalDateTime lastUpdateTime = FIRST_KEY;
+        Long lastId = 0L;
+        long deleted = 0;
+        while (true) {
+            List<CartItemPurgeDto> staleCartItems = cartItemRepository.findStaleCartItems(before, lastUpdateTime, lastId,
+                    PageRequest.of(0, chunkSize));
+            if(staleCartItems.isEmpty()){
+                break;
+            }
+
+            List<Long> cartItemIds = new ArrayList<>(staleCartItems.size());
+            for (CartItemPurgeDto staleCartItem : staleCartItems) {
+                cartItemIds.add(staleCartItem.getCartItemId());
+            }
+            int count = transactionTemplate.execute(status -> cartItemRepository.deleteStaleByIds(cartItemIds, before));
+            deleted += count;
+            deletedCounter.increment(count);
+            chunkCounter.increment();
+
+            CartItemPurgeDto last = staleCartItems.get(staleCartItems.size() - 1);
+            lastUpdateTime = last.getUpdateTime();
+            lastId = last.getCartItemId();
+
+            if(staleCartItems.size() < chunkSize || !pause()){
+                break;
+            }
+        }
+
+        if(deleted > 0){
+            // 삭제된 상품이 캐시나 메모리 장바구니에 남지 않도록 다시 조회/적재
+            cartSnapshotCache.evictAll();
+            cartItemStore.markAllStale();
+            log.info("오래된 장바구니 상품 정리 완료 (" + deleted + "건)");
+        }
+    }
+
+    private boolean pause(){
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
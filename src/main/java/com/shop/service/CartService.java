@@ -4,21 +4,24 @@ import com.shop.dto.CartItemDto;
 import com.shop.entity.Cart;
 import com.shop.entity.CartItem;
 import com.shop.entity.Item;
-import com.shop.entity.Member;
 import com.shop.repository.CartItemRepository;
 import com.shop.repository.CartRepository;
 import com.shop.repository.ItemRepository;
 import com.shop.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityNotFoundException;
 
 import com.shop.dto.CartDetailDto;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import org.thymeleaf.util.StringUtils;
+import com.shop.constant.CartOperationType;
+import com.shop.dto.CartOperationDto;
 import com.shop.dto.CartOrderDto;
 import com.shop.dto.OrderDto;
 
@@ -32,20 +35,24 @@ public class CartService {
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final OrderService orderService;
+    private final CartSnapshotCache cartSnapshotCache;
+    private final CartItemStore cartItemStore;
 
-    public Long addCart(CartItemDto cartItemDto, String email){
+    public Long addCart(CartItemDto cartItemDto, Long memberId){
 
         Item item = itemRepository.findById(cartItemDto.getItemId())
                 .orElseThrow(EntityNotFoundException::new);
-        Member member = memberRepository.findByEmail(email);
 
-        Cart cart = cartRepository.findByMemberId(member.getId());
+        cartItemStore.flush(memberId);
+
+        Cart cart = cartRepository.findByMemberId(memberId);
         if(cart == null){
-            cart = Cart.createCart(member);
+            cart = Cart.createCart(memberRepository.getReferenceById(memberId));
             cartRepository.save(cart);
         }
 
         CartItem savedCartItem = cartItemRepository.findByCartIdAndItemId(cart.getId(), item.getId());
+        cartSnapshotCache.evictAfterCommit(memberId);
 
         if(savedCartItem != null){
             savedCartItem.addCount(cartItemDto.getCount());
@@ -57,69 +64,172 @@ public class CartService {
         }
     }
 
+    // 장바구니가 없으면 빈 목록. 아직 반영되지 않은 수량 변경이 있으면 덮어씀
     @Transactional(readOnly = true)
-    public List<CartDetailDto> getCartList(String email){
-
-        List<CartDetailDto> cartDetailDtoList = new ArrayList<>();
-
-        Member member = memberRepository.findByEmail(email);
-        Cart cart = cartRepository.findByMemberId(member.getId());
-        if(cart == null){
+    public List<CartDetailDto> getCartList(Long memberId){
+        List<CartDetailDto> cartDetailDtoList = cartSnapshotCache.get(memberId);
+        Map<Long, Integer> pendingCounts = cartItemStore.getPendingCounts(memberId);
+        if(pendingCounts.isEmpty()){
             return cartDetailDtoList;
         }
 
-        cartDetailDtoList = cartItemRepository.findCartDetailDtoList(cart.getId());
-        return cartDetailDtoList;
+        List<CartDetailDto> merged = new ArrayList<>(cartDetailDtoList.size());
+        for (CartDetailDto cartDetailDto : cartDetailDtoList) {
+            Integer count = pendingCounts.get(cartDetailDto.getCartItemId());
+            merged.add(count == null ? cartDetailDto : new CartDetailDto(cartDetailDto.getCartItemId(),
+                    cartDetailDto.getItemNm(), cartDetailDto.getPrice(), count, cartDetailDto.getImgUrl()));
+        }
+        return merged;
     }
 
     @Transactional(readOnly = true)
-    public boolean validateCartItem(Long cartItemId, String email){
-        Member curMember = memberRepository.findByEmail(email);
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
-                .orElseThrow(EntityNotFoundException::new);
-        Member savedMember = cartItem.getCart().getMember();
-
-        if(!StringUtils.equals(curMember.getEmail(), savedMember.getEmail())){
-            return false;
+    public boolean validateCartItem(Long cartItemId, Long memberId){
+        Long savedMemberId = cartItemRepository.findMemberId(cartItemId);
+        if(savedMemberId == null){
+            throw new EntityNotFoundException();
         }
 
-        return true;
+        return savedMemberId.equals(memberId);
     }
 
-    public void updateCartItemCount(Long cartItemId, int count){
+    public void updateCartItemCount(Long cartItemId, int count, Long memberId){
         CartItem cartItem = cartItemRepository.findById(cartItemId)
                 .orElseThrow(EntityNotFoundException::new);
 
         cartItem.updateCount(count);
+        cartSnapshotCache.evictAfterCommit(memberId);
     }
 
-    public void deleteCartItem(Long cartItemId) {
+    public void deleteCartItem(Long cartItemId, Long memberId) {
+        cartItemStore.flush(memberId);
         CartItem cartItem = cartItemRepository.findById(cartItemId)
                 .orElseThrow(EntityNotFoundException::new);
         cartItemRepository.delete(cartItem);
+        cartSnapshotCache.evictAfterCommit(memberId);
     }
 
-    public Long orderCartItem(List<CartOrderDto> cartOrderDtoList, String email){
-        List<OrderDto> orderDtoList = new ArrayList<>();
+    // 본인 장바구니의 상품이 아니거나 없는 상품이 포함되어 있으면 AccessDeniedException
+    // 담기/수량 수정/삭제를 한 트랜잭션에서 순서대로 처리하고 변경된 장바구니를 반환
+    // 회원의 장바구니 상품을 한 번에 조회해서 권한을 확인하고, 추가/삭제는 모아서 한 번에 실행
+    public List<CartDetailDto> updateCart(List<CartOperationDto> cartOperationDtoList, Long memberId){
+        cartItemStore.flush(memberId);
+
+        Map<Long, CartItem> cartItemsById = new HashMap<>();
+        Map<Long, CartItem> cartItemsByItemId = new HashMap<>();
+        for (CartItem cartItem : cartItemRepository.findMemberCartItems(memberId)) {
+            cartItemsById.put(cartItem.getId(), cartItem);
+            cartItemsByItemId.put(cartItem.getItem().getId(), cartItem);
+        }
+
+        // 권한 확인과 담을 상품 조회를 변경 전에 모두 처리
+        List<Long> itemIds = new ArrayList<>();
+        for (CartOperationDto cartOperationDto : cartOperationDtoList) {
+            validateCartOperation(cartOperationDto);
+            if(cartOperationDto.getType() == CartOperationType.ADD){
+                itemIds.add(cartOperationDto.getItemId());
+            } else if(!cartItemsById.containsKey(cartOperationDto.getCartItemId())){
+                throw new AccessDeniedException("수정 권한이 없습니다.");
+            }
+        }
+        Map<Long, Item> items = new HashMap<>();
+        for (Item item : itemRepository.findAllById(itemIds)) {
+            items.put(item.getId(), item);
+        }
+
+        Cart cart = null;
+        List<CartItem> newCartItems = new ArrayList<>();
+        List<Long> removedIds = new ArrayList<>();
+        for (CartOperationDto cartOperationDto : cartOperationDtoList) {
+            switch (cartOperationDto.getType()) {
+                case ADD -> {
+                    Item item = items.get(cartOperationDto.getItemId());
+                    if(item == null){
+                        throw new EntityNotFoundException("상품을 찾을 수 없습니다.");
+                    }
+                    CartItem savedCartItem = cartItemsByItemId.get(item.getId());
+                    if(savedCartItem != null){
+                        savedCartItem.addCount(cartOperationDto.getCount());
+                    } else {
+                        if(cart == null){
+                            cart = cartRepository.findByMemberId(memberId);
+                            if(cart == null){
+                                cart = cartRepository.save(Cart.createCart(memberRepository.getReferenceById(memberId)));
+                            }
+                        }
+                        CartItem cartItem = CartItem.createCartItem(cart, item, cartOperationDto.getCount());
+                        newCartItems.add(cartItem);
+                        cartItemsByItemId.put(item.getId(), cartItem);
+                    }
+                }
+                case UPDATE -> {
+                    CartItem cartItem = cartItemsById.get(cartOperationDto.getCartItemId());
+                    if(cartItem == null){
+                        throw new IllegalArgumentException("이미 삭제된 장바구니 상품입니다.");
+                    }
+                    cartItem.updateCount(cartOperationDto.getCount());
+                }
+                case REMOVE -> {
+                    CartItem cartItem = cartItemsById.remove(cartOperationDto.getCartItemId());
+                    if(cartItem == null){
+                        throw new IllegalArgumentException("이미 삭제된 장바구니 상품입니다.");
+                    }
+                    cartItemsByItemId.remove(cartItem.getItem().getId());
+                    removedIds.add(cartItem.getId());
+                }
+            }
+        }
 
+        // INSERT/UPDATE는 hibernate.jdbc.batch_size 단위로 묶여서 실행
+        cartItemRepository.saveAll(newCartItems);
+        if(!removedIds.isEmpty()){
+            cartItemRepository.deleteByIds(removedIds);
+        }
+        cartSnapshotCache.evictAfterCommit(memberId);
+
+        // 커밋 전 데이터가 캐싱되지 않도록 캐시를 거치지 않고 조회
+        return cartItemRepository.findCartDetailDtoList(memberId);
+    }
+
+    private void validateCartOperation(CartOperationDto cartOperationDto){
+        CartOperationType type = cartOperationDto.getType();
+        if(type == null){
+            throw new IllegalArgumentException("변경 유형을 입력해주세요.");
+        } else if(type == CartOperationType.ADD && cartOperationDto.getItemId() == null){
+            throw new IllegalArgumentException("상품 아이디는 필수 입력 값 입니다.");
+        } else if(type != CartOperationType.ADD && cartOperationDto.getCartItemId() == null){
+            throw new IllegalArgumentException("장바구니 상품 아이디는 필수 입력 값 입니다.");
+        } else if(type != CartOperationType.REMOVE && cartOperationDto.getCount() <= 0){
+            throw new IllegalArgumentException("최소 1개 이상 담아주세요");
+        }
+    }
+
+    // 주문 수량은 DB 기준이므로 메모리에 있는 수량 변경을 먼저 반영
+    public Long orderCartItem(List<CartOrderDto> cartOrderDtoList, Long memberId){
+        cartItemStore.flush(memberId);
+
+        List<Long> cartItemIds = new ArrayList<>();
         for (CartOrderDto cartOrderDto : cartOrderDtoList) {
-            CartItem cartItem = cartItemRepository
-                            .findById(cartOrderDto.getCartItemId())
-                            .orElseThrow(EntityNotFoundException::new);
+            if(!cartItemIds.contains(cartOrderDto.getCartItemId())){
+                cartItemIds.add(cartOrderDto.getCartItemId());
+            }
+        }
+
+        List<CartItem> cartItems = cartItemRepository.findOrderCartItems(cartItemIds, memberId);
+        if(cartItems.size() != cartItemIds.size()){
+            throw new AccessDeniedException("주문 권한이 없습니다.");
+        }
 
+        List<OrderDto> orderDtoList = new ArrayList<>();
+        for (CartItem cartItem : cartItems) {
             OrderDto orderDto = new OrderDto();
             orderDto.setItemId(cartItem.getItem().getId());
             orderDto.setCount(cartItem.getCount());
             orderDtoList.add(orderDto);
         }
 
-        Long orderId = orderService.orders(orderDtoList, email);
-        for (CartOrderDto cartOrderDto : cartOrderDtoList) {
-            CartItem cartItem = cartItemRepository
-                            .findById(cartOrderDto.getCartItemId())
-                            .orElseThrow(EntityNotFoundException::new);
-            cartItemRepository.delete(cartItem);
-        }
+        Long orderId = orderService.orders(orderDtoList, memberId);
+        cartItemRepository.deleteByIds(cartItemIds);
+        cartSnapshotCache.evictAfterCommit(memberId);
 
         return orderId;
     }
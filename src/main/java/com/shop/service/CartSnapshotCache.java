@@ -0,0 +1,63 @@
+package com.shop.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.dto.CartDetailDto;
+import com.shop.event.ItemChangedEvent;
+import com.shop.repository.CartItemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+// 회원별 장바구니 조회 결과 캐시
+// 장바구니 담기/수량 수정/삭제/주문 시 해당 회원의 항목을 제거
+@Component
+public class CartSnapshotCache {
+
+    private final CartItemRepository cartItemRepository;
+
+    private final Cache<Long, List<CartDetailDto>> carts = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .recordStats()
+            .build();
+
+    public CartSnapshotCache(CartItemRepository cartItemRepository, MeterRegistry meterRegistry){
+        this.cartItemRepository = cartItemRepository;
+        CaffeineCacheMetrics.monitor(meterRegistry, carts, "cartSnapshotCache");
+    }
+
+    public List<CartDetailDto> get(Long memberId){
+        return carts.get(memberId, key -> List.copyOf(cartItemRepository.findCartDetailDtoList(key)));
+    }
+
+    // 커밋 전에 다른 요청이 변경 전 장바구니를 다시 캐싱하지 않도록 커밋 후에도 한 번 더 제거
+    public void evictAfterCommit(Long memberId){
+        carts.invalidate(memberId);
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    carts.invalidate(memberId);
+                }
+            });
+        }
+    }
+
+    public void evictAll(){
+        carts.invalidateAll();
+    }
+
+    // 상품명/금액이 바뀌면 어느 회원의 장바구니에 있는지 알 수 없으므로 전체 제거 (관리자 수정 시에만 발생)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event){
+        carts.invalidateAll();
+    }
+
+}
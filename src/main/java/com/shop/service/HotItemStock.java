@@ -0,0 +1,206 @@
+package com.shop.service;
+
+import com.shop.dto.PendingStockDto;
+import com.shop.event.ItemChangedEvent;
+import com.shop.exception.OutOfStockException;
+import com.shop.repository.ItemRepository;
+import com.shop.repository.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 한정 판매 상품(hotItemYn = Y)의 재고를 메모리에서 차감 (CAS, 락 없음)
+// 주문 상품은 stockAppliedYn = N 으로 저장되고, 주기적으로 item 테이블에 모아서 반영 (order_item이 반영 대기 목록 역할)
+// 메모리 재고 = item 재고 - 반영 대기 수량 - 진행 중인 주문 수량 이므로 초과 판매되지 않음 (애플리케이션 1대 기준)
+@Component
+@Log
+@RequiredArgsConstructor
+public class HotItemStock implements SmartInitializingSingleton {
+
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Stock> stocks = new ConcurrentHashMap<>();
+
+    // 웹 서버가 요청을 받기 전에 이전 실행에서 반영되지 않은 차감분을 반영하고 메모리 재고를 적재
+    @Override
+    public void afterSingletonsInstantiated() {
+        flush();
+        List<Long> hotItemIds = itemRepository.findHotItemIds();
+        for (Long itemId : hotItemIds) {
+            load(itemId);
+        }
+        if(!hotItemIds.isEmpty()){
+            log.info("한정 판매 상품 재고 적재 완료 (" + hotItemIds.size() + "건)");
+        }
+    }
+
+    // 한정 판매 상품이면 메모리에서 차감하고 true, 아니면 false (트랜잭션 안에서 호출)
+    public boolean reserve(Long itemId, int count){
+        while (true) {
+            Stock stock = stocks.get(itemId);
+            if(stock == null){
+                return false;
+            }
+            stock.awaitLoaded();
+
+            // 다시 적재 중인 재고면 새 재고로 재시도 (retired 확인 전에 진행 중 수량에 먼저 더함)
+            stock.inFlight.addAndGet(count);
+            if(stock.retired){
+                stock.inFlight.addAndGet(-count);
+                continue;
+            }
+            if(!stock.take(count)){
+                stock.inFlight.addAndGet(-count);
+                throw new OutOfStockException("상품의 재고가 부족 합니다. (현재 재고 수량: " + stock.available.get() + ")");
+            }
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if(status != STATUS_COMMITTED){
+                        stock.available.addAndGet(count);
+                    }
+                    stock.inFlight.addAndGet(-count);
+                }
+            });
+            return true;
+        }
+    }
+
+    // 주문 취소 시 커밋 후 메모리 재고 복구 (item 재고는 호출한 쪽에서 복구)
+    public void releaseAfterCommit(Long itemId, int count){
+        Stock stock = stocks.get(itemId);
+        if(stock == null){
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stock.available.addAndGet(count);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${hotItemStockFlushMs:200}")
+    public synchronized void flush(){
+        List<Long> shortItemIds = new ArrayList<>();
+        List<PendingStockDto> pending;
+        do {
+            pending = transactionTemplate.execute(status -> flushChunk(shortItemIds));
+        } while (pending.size() == FLUSH_CHUNK_SIZE);
+
+        // 재고가 부족했던 상품은 메모리 재고를 item 재고 기준으로 다시 적재
+        for (Long itemId : shortItemIds) {
+            if(stocks.containsKey(itemId)){
+                load(itemId);
+            }
+        }
+    }
+
+    private List<PendingStockDto> flushChunk(List<Long> shortItemIds){
+        List<PendingStockDto> pending = orderItemRepository.findPendingStock(PageRequest.of(0, FLUSH_CHUNK_SIZE));
+        if(pending.isEmpty()){
+            return pending;
+        }
+
+        // 상품별로 합산해서 item_id 오름차순으로 갱신
+        Map<Long, Integer> counts = new TreeMap<>();
+        List<Long> orderItemIds = new ArrayList<>(pending.size());
+        for (PendingStockDto pendingStock : pending) {
+            counts.merge(pendingStock.getItemId(), pendingStock.getCount(), Integer::sum);
+            orderItemIds.add(pendingStock.getOrderItemId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        counts.forEach((itemId, count) -> {
+            if(itemRepository.applyReservedStock(itemId, count, now) == 0){
+                // 이미 판매된 주문이므로 반영 대기로 남겨두지 않고 재고를 0으로 맞춤
+                log.warning("한정 판매 상품 재고 부족 (" + itemId + ", 차감 수량: " + count + ")");
+                itemRepository.clearStock(itemId, now);
+                shortItemIds.add(itemId);
+            }
+        });
+        orderItemRepository.markStockApplied(orderItemIds);
+        return pending;
+    }
+
+    // 관리자가 재고를 수정하거나 한정 판매 여부를 바꾼 경우 다시 적재
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event){
+        if("Y".equals(itemRepository.findHotItemYn(event.getItemId()))){
+            load(event.getItemId());
+        } else if(stocks.remove(event.getItemId()) != null){
+            // 일반 상품으로 바뀌면 남은 차감분을 바로 반영해서 item 재고 기준으로 주문되도록 함
+            flush();
+        }
+    }
+
+    // 교체되는 재고에서 진행 중인 주문은 커밋 여부와 관계없이 차감된 것으로 계산 (적게 팔 수는 있어도 초과 판매는 없음)
+    private synchronized void load(Long itemId){
+        Stock stock = new Stock();
+        Stock previous = stocks.put(itemId, stock);
+        long inFlight = 0;
+        if(previous != null){
+            previous.retired = true;
+            inFlight = previous.inFlight.get();
+        }
+        Integer unreserved = itemRepository.findUnreservedStock(itemId);
+        stock.available.set(Math.max(0L, (unreserved == null ? 0L : unreserved) - inFlight));
+        stock.loaded.countDown();
+    }
+
+    private static class Stock {
+
+        private final AtomicLong available = new AtomicLong();
+
+        private final AtomicLong inFlight = new AtomicLong();
+
+        private final CountDownLatch loaded = new CountDownLatch(1);
+
+        private volatile boolean retired;
+
+        boolean take(int count){
+            long current;
+            do {
+                current = available.get();
+                if(current < count){
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - count));
+            return true;
+        }
+
+        void awaitLoaded(){
+            try {
+                loaded.await();
+            } catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.shop.service;
+
+import com.shop.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 저장된 지 idempotencyKeyTtlHours 시간이 지난 Idempotency-Key를 삭제 (이후 같은 키로 요청하면 새 주문으로 처리)
+// id 기준으로 chunkSize 건씩 조회해서 chunk마다 짧은 트랜잭션으로 삭제하고, chunk 사이에는 pauseMs 만큼 쉼
+// 메트릭: idempotency.purge.deleted (삭제 건수)
+@Component
+@Log
+public class IdempotencyKeyPurgeJob {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int ttlHours;
+
+    private final int chunkSize;
+
+    private final long pauseMs;
+
+    private final Counter deletedCounter;
+
+    public IdempotencyKeyPurgeJob(IdempotencyKeyRepository idempotencyKeyRepository,
+                                  TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                  @Value("${idempotencyKeyTtlHours:24}") int ttlHours,
+                                  @Value("${idempotencyKeyPurgeChunkSize:500}") int chunkSize,
+                                  @Value("${idempotencyKeyPurgePauseMs:200}") long pauseMs){
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttlHours = ttlHours;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.deletedCounter = meterRegistry.counter("idempotency.purge.deleted");
+    }
+
+    @Scheduled(cron = "${idempotencyKeyPurgeCron:0 0 5 * * *}")
+    public void purge(){
+        LocalDateTime before = LocalDateTime.now().minusHours(ttlHours);
+        Long lastId = 0L;
+        long deleted = 0;
+        while (true) {
+            List<Long> expiredIds = idempotencyKeyRepository.findExpiredIds(before, lastId, PageRequest.of(0, chunkSize));
+            if(expiredIds.isEmpty()){
+                break;
+            }
+
+            int count = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteByIds(expiredIds));
+            deleted += count;
+            deletedCounter.increment(count);
+            lastId = expiredIds.get(expiredIds.size() - 1);
+
+            if(expiredIds.size() < chunkSize || !pause()){
+                break;
+            }
+        }
+
+        if(deleted > 0){
+            log.info("오래된 Idempotency-Key 정리 완료 (" + deleted + "건)");
+        }
+    }
+
+    private boolean pause(){
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.shop.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.constant.IdempotencyEndpoint;
+import com.shop.entity.IdempotencyKey;
+import com.shop.repository.IdempotencyKeyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Idempotency-Key 헤더로 같은 주문 요청이 다시 들어오면 처음 처리한 주문 id를 돌려줌
+// 최근 키는 메모리(Caffeine)에서 바로 응답하고, 처리 중인 키로 들어온 요청은 첫 요청이 끝날 때까지 기다림
+// 메모리에서 제거된 키나 다른 서버에서 처리한 키는 idempotency_key 테이블로 확인
+// 키는 회원과 API(IdempotencyEndpoint)별로 구분하므로 다른 주문 API에서 같은 키를 사용해도 이전 주문 id를 돌려주지 않음
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<String, CompletableFuture<Long>> results = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofHours(24))
+            .build();
+
+    public Long execute(String email, IdempotencyEndpoint endpoint, String idempotencyKey, Supplier<Long> order){
+        if(idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH){
+            throw new IllegalArgumentException("잘못된 Idempotency-Key 값입니다.");
+        }
+
+        String cacheKey = email + ":" + endpoint + ":" + idempotencyKey;
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        CompletableFuture<Long> previous = results.asMap().putIfAbsent(cacheKey, result);
+        if(previous != null){
+            return await(previous);
+        }
+
+        try {
+            Long orderId = idempotencyKeyRepository.findOrderId(email, endpoint, idempotencyKey);
+            if(orderId == null){
+                orderId = executeOnce(email, endpoint, idempotencyKey, order);
+            }
+            result.complete(orderId);
+            return orderId;
+        } catch (RuntimeException e){
+            // 실패한 요청은 다시 시도할 수 있도록 제거 (기다리던 요청은 같은 예외를 받음)
+            results.asMap().remove(cacheKey, result);
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 키를 먼저 저장해서 다른 서버의 같은 요청은 unique 제약에서 기다리게 하고, 주문과 같은 트랜잭션으로 커밋
+    private Long executeOnce(String email, IdempotencyEndpoint endpoint, String idempotencyKey, Supplier<Long> order){
+        try {
+            return transactionTemplate.execute(status -> {
+                IdempotencyKey key = idempotencyKeyRepository
+                        .saveAndFlush(IdempotencyKey.createIdempotencyKey(email, endpoint, idempotencyKey));
+                Long orderId = order.get();
+                key.setOrderId(orderId);
+                return orderId;
+            });
+        } catch (DataIntegrityViolationException e){
+            Long orderId = idempotencyKeyRepository.findOrderId(email, endpoint, idempotencyKey);
+            if(orderId == null){
+                throw e;
+            }
+            return orderId;
+        }
+    }
+
+    private static Long await(CompletableFuture<Long> result){
+        try {
+            return result.join();
+        } catch (CompletionException e){
+            if(e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.shop.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.dto.ItemSearchDto;
+import com.shop.event.ItemChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// 상품 목록 전체 건수를 검색 조건별로 캐싱
+@Component
+public class ItemCountCache {
+
+    private final Cache<String, Long> counts = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofSeconds(60)) //등록일 기준 검색(1d, 1w ...)은 시간이 지나면 건수가 바뀜
+            .build();
+
+    // 상품 변경 시 증가시켜서 변경 전에 조회된 건수가 다시 저장되지 않도록 함
+    private final AtomicLong generation = new AtomicLong();
+
+    public long getAdminItemCount(ItemSearchDto itemSearchDto, LongSupplier countQuery){
+        return get("admin", itemSearchDto, countQuery);
+    }
+
+    public long getMainItemCount(ItemSearchDto itemSearchDto, LongSupplier countQuery){
+        return get("main", itemSearchDto, countQuery);
+    }
+
+    private long get(String listType, ItemSearchDto itemSearchDto, LongSupplier countQuery){
+        String key = generation.get() + ":" + listType + ":" + itemSearchDto.normalizedKey();
+        return counts.get(key, k -> countQuery.getAsLong());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event){
+        generation.incrementAndGet();
+        counts.invalidateAll();
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.shop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.event.ItemChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+// 상품 상세(/item/{itemId}) 응답을 직렬화된 JSON(UTF-8 byte[])으로 캐싱
+// 같은 상품에 대한 동시 요청은 Caffeine의 get(key, loader)에서 하나의 조회로 합쳐짐
+@Component
+public class ItemDetailCache {
+
+    private final ItemService itemService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<Long, ItemDetailJson> details = Caffeine.newBuilder()
+            .maximumWeight(32L * 1024 * 1024)
+            .weigher((Long itemId, ItemDetailJson detail) -> detail.getBody().length)
+            .expireAfterWrite(Duration.ofSeconds(30)) //재고 수량은 주문 시 변경되므로 오래 보관하지 않음
+            .recordStats()
+            .build();
+
+    public ItemDetailCache(ItemService itemService, ObjectMapper objectMapper, MeterRegistry meterRegistry){
+        this.itemService = itemService;
+        this.objectMapper = objectMapper;
+        CaffeineCacheMetrics.monitor(meterRegistry, details, "itemDetailCache");
+    }
+
+    // lastModified는 호출한 쪽에서 본문보다 먼저 조회한 버전 (ETag가 본문보다 최신이 되는 일이 없도록 함)
+    // 상품이 없으면 EntityNotFoundException
+    public ItemDetailJson get(Long itemId, long lastModified){
+        return details.get(itemId, key -> load(key, lastModified));
+    }
+
+    public ItemDetailJson getIfPresent(Long itemId){
+        return details.getIfPresent(itemId);
+    }
+
+    private ItemDetailJson load(Long itemId, long lastModified){
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(itemService.getItemDtl(itemId));
+            return new ItemDetailJson(body, lastModified);
+        } catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 로딩 중인 항목을 invalidate 하면 로딩이 끝난 뒤 제거되므로 변경 전 데이터가 남지 않음
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event){
+        details.invalidate(event.getItemId());
+    }
+
+    @Getter
+    public static class ItemDetailJson {
+
+        private final byte[] body;
+
+        private final long lastModified;
+
+        ItemDetailJson(byte[] body, long lastModified){
+            this.body = body;
+            this.lastModified = lastModified;
+        }
+
+    }
+
+}
@@ -37,6 +37,11 @@ public class ItemImgService {
         //상품 이미지 정보 저장
         itemImg.updateItemImg(oriImgName, imgName, imgUrl);
         itemImgRepository.save(itemImg);
+
+        //대표 이미지 경로를 상품에도 반영
+        if(StringUtils.equals("Y", itemImg.getRepimgYn())){
+            itemImg.getItem().updateRepImgUrl(imgUrl);
+        }
     }
 
     public void updateItemImg(Long itemImgId, MultipartFile itemImgFile) throws Exception{
@@ -54,6 +59,10 @@ public class ItemImgService {
             String imgName = fileService.uploadFile(itemImgLocation, oriImgName, itemImgFile.getBytes());
             String imgUrl = "/images/item/" + imgName;
             savedItemImg.updateItemImg(oriImgName, imgName, imgUrl);
+
+            if(StringUtils.equals("Y", savedItemImg.getRepimgYn())){
+                savedItemImg.getItem().updateRepImgUrl(imgUrl);
+            }
         }
     }
 
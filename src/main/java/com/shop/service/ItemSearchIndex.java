@@ -0,0 +1,327 @@
+package com.shop.service;
+
+import com.shop.dto.ItemIndexDto;
+import com.shop.event.ItemChangedEvent;
+import com.shop.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 상품명/상품 상세 설명에 대한 메모리 역색인 (bigram)
+// like '%검색어%' 조회 대신 사용하며, 색인이 준비되기 전에는 null을 반환해서 DB 조회를 사용하도록 함
+@Component
+@Log
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    private static final int BUILD_CHUNK_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+
+    private final FieldIndex nameIndex = new FieldIndex(true);
+
+    private final FieldIndex detailIndex = new FieldIndex(false);
+
+    // 검색어 확인용 정규화된 상품명 (bigram 만으로는 연속된 문자열인지 알 수 없음)
+    private final Map<Long, String> names = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 색인 생성 중에 변경된 상품은 생성 작업에서 덮어쓰지 않음
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean building;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup(){
+        Thread builder = new Thread(this::build, "item-search-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void build(){
+        building = true;
+        try {
+            long lastId = 0L;
+            int count = 0;
+            List<ItemIndexDto> items;
+            do {
+                items = itemRepository.findItemIndexAfter(lastId, PageRequest.of(0, BUILD_CHUNK_SIZE));
+                // 변경 여부 확인과 색인을 같은 락 안에서 처리해서, 변경 이벤트에서 색인한 최신 값을 덮어쓰지 않도록 함
+                lock.writeLock().lock();
+                try {
+                    for (ItemIndexDto item : items) {
+                        if(!changedDuringBuild.contains(item.getItemId())){
+                            index(item.getItemId(), item.getItemNm(), item.getItemDetail());
+                        }
+                        lastId = item.getItemId();
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                count += items.size();
+            } while (items.size() == BUILD_CHUNK_SIZE);
+
+            ready = true;
+            log.info("상품 검색 색인 생성 완료 (" + count + "건)");
+        } catch (Exception e){
+            log.severe("상품 검색 색인 생성 실패: " + e.getMessage());
+        } finally {
+            building = false;
+            changedDuringBuild.clear();
+        }
+    }
+
+    // 메인 페이지 캐시(MainItemCache)가 비워지기 전에 색인을 먼저 갱신
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event){
+        // 상품을 다시 조회하기 전에 표시해서, 그 전에 조회된 값으로 생성 작업이 색인하지 않도록 함
+        if(building){
+            lock.writeLock().lock();
+            try {
+                changedDuringBuild.add(event.getItemId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        // 삭제되었거나 메인 화면에 노출되지 않는 상품은 색인에서 제거
+        ItemIndexDto item = itemRepository.findItemIndex(event.getItemId());
+        if(item != null){
+            index(item.getItemId(), item.getItemNm(), item.getItemDetail());
+        } else {
+            remove(event.getItemId());
+        }
+    }
+
+    public boolean isReady(){
+        return ready;
+    }
+
+    public void index(Long itemId, String itemNm, String itemDetail){
+        String normalizedName = normalize(itemNm);
+
+        lock.writeLock().lock();
+        try {
+            nameIndex.put(itemId, normalizedName);
+            detailIndex.put(itemId, normalize(itemDetail));
+            names.put(itemId, normalizedName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId){
+        lock.writeLock().lock();
+        try {
+            nameIndex.remove(itemId);
+            detailIndex.remove(itemId);
+            names.remove(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 상품명에 검색어가 포함된 상품 id를 오름차순으로 반환. 색인으로 처리할 수 없으면 null
+    public long[] searchItemNm(String query){
+        if(!ready){
+            return null;
+        }
+        String normalizedQuery = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = nameIndex.search(normalizedQuery);
+            if(candidates == null){
+                return null;
+            }
+            int matched = 0;
+            for (long docId : candidates) {
+                if(names.get(docId).contains(normalizedQuery)){
+                    candidates[matched++] = docId;
+                }
+            }
+            return Arrays.copyOf(candidates, matched);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 상세 설명은 원문을 보관하지 않으므로 bigram이 모두 포함된 상품을 반환 (근사 검색)
+    public long[] searchItemDetail(String query){
+        if(!ready){
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            return detailIndex.search(normalize(query));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 한글 자모가 분리되어 입력된 경우에도 같은 음절로 색인되도록 NFC 정규화
+    static String normalize(String text){
+        if(text == null){
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    // 공백/기호로 구분된 단어마다 인접한 두 글자를 하나의 term(int)으로 변환
+    // 한 글자 단어는 unigram으로 색인 (상품명만)
+    static int[] tokenize(String normalized, boolean withUnigram){
+        int[] terms = new int[Math.max(normalized.length() * 2, 1)];
+        int size = 0;
+        int wordStart = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if(letter && wordStart < 0){
+                wordStart = i;
+            } else if(!letter && wordStart >= 0){
+                if(i - wordStart == 1 || withUnigram){
+                    for (int j = wordStart; j < i; j++) {
+                        terms[size++] = normalized.charAt(j);
+                    }
+                }
+                for (int j = wordStart; j + 1 < i; j++) {
+                    terms[size++] = (normalized.charAt(j) << 16) | normalized.charAt(j + 1);
+                }
+                wordStart = -1;
+            }
+        }
+        int[] distinct = Arrays.copyOf(terms, size);
+        Arrays.sort(distinct);
+        int n = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if(i == 0 || distinct[i] != distinct[i - 1]){
+                distinct[n++] = distinct[i];
+            }
+        }
+        return Arrays.copyOf(distinct, n);
+    }
+
+    private static class FieldIndex {
+
+        private final boolean withUnigram;
+
+        private final Map<Integer, PostingList> postings = new HashMap<>();
+
+        // 수정/삭제 시 기존 term을 제거하기 위해 문서별 term 목록 보관
+        private final Map<Long, int[]> docTerms = new HashMap<>();
+
+        FieldIndex(boolean withUnigram){
+            this.withUnigram = withUnigram;
+        }
+
+        void put(long docId, String normalized){
+            remove(docId);
+            int[] terms = tokenize(normalized, withUnigram);
+            for (int term : terms) {
+                postings.computeIfAbsent(term, t -> new PostingList()).add(docId);
+            }
+            docTerms.put(docId, terms);
+        }
+
+        void remove(long docId){
+            int[] terms = docTerms.remove(docId);
+            if(terms == null){
+                return;
+            }
+            for (int term : terms) {
+                PostingList postingList = postings.get(term);
+                if(postingList != null && postingList.remove(docId) && postingList.size == 0){
+                    postings.remove(term);
+                }
+            }
+        }
+
+        // 검색어의 모든 term을 포함한 문서 id (오름차순). 검색어에 term이 없으면 null
+        long[] search(String normalizedQuery){
+            int[] terms = tokenize(normalizedQuery, false);
+            if(terms.length == 0){
+                return null;
+            }
+            PostingList[] lists = new PostingList[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                lists[i] = postings.get(terms[i]);
+                if(lists[i] == null){
+                    return new long[0];
+                }
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            long[] result = Arrays.copyOf(lists[0].docIds, lists[0].size);
+            int size = result.length;
+            for (int i = 1; i < lists.length && size > 0; i++) {
+                size = lists[i].retainAll(result, size);
+            }
+            return Arrays.copyOf(result, size);
+        }
+
+    }
+
+    // 정렬된 long 배열(상품 id)로 관리하는 posting 목록
+    private static class PostingList {
+
+        private long[] docIds = new long[4];
+
+        private int size;
+
+        void add(long docId){
+            int pos = Arrays.binarySearch(docIds, 0, size, docId);
+            if(pos >= 0){
+                return;
+            }
+            pos = -pos - 1;
+            if(size == docIds.length){
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+            System.arraycopy(docIds, pos, docIds, pos + 1, size - pos);
+            docIds[pos] = docId;
+            size++;
+        }
+
+        boolean remove(long docId){
+            int pos = Arrays.binarySearch(docIds, 0, size, docId);
+            if(pos < 0){
+                return false;
+            }
+            System.arraycopy(docIds, pos + 1, docIds, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        // target[0..length) 중 이 목록에 있는 id만 남기고 남은 개수를 반환
+        int retainAll(long[] target, int length){
+            int n = 0;
+            for (int i = 0; i < length; i++) {
+                if(Arrays.binarySearch(docIds, 0, size, target[i]) >= 0){
+                    target[n++] = target[i];
+                }
+            }
+            return n;
+        }
+
+    }
+
+}
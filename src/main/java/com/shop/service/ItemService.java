@@ -1,26 +1,34 @@
 package com.shop.service;
 
+import com.shop.constant.PageCountMode;
+import com.shop.dto.AdminItemDto;
 import com.shop.dto.ItemFormDto;
+import com.shop.dto.ItemVersionDto;
 import com.shop.entity.Item;
 import com.shop.entity.ItemImg;
-import com.shop.repository.ItemImgRepository;
+import com.shop.event.ItemChangedEvent;
 import com.shop.repository.ItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.thymeleaf.util.StringUtils;
 
+import java.util.Arrays;
 import java.util.List;
 
-import com.shop.dto.ItemImgDto;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.ArrayList;
 
 import com.shop.dto.ItemSearchDto;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import com.shop.dto.MainItemDto;
+import com.shop.dto.CursorPageDto;
 
 @Service
 @Transactional
@@ -31,7 +39,11 @@ public class ItemService {
 
     private final ItemImgService itemImgService;
 
-    private final ItemImgRepository itemImgRepository;
+    private final ItemCountCache itemCountCache;
+
+    private final ItemSearchIndex itemSearchIndex;
+
+    private final ApplicationEventPublisher eventPublisher;
 
     public Long saveItem(ItemFormDto itemFormDto, List<MultipartFile> itemImgFileList) throws Exception{
 
@@ -52,25 +64,28 @@ public class ItemService {
             itemImgService.saveItemImg(itemImg, itemImgFileList.get(i));
         }
 
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
         return item.getId();
     }
 
     @Transactional(readOnly = true)
     public ItemFormDto getItemDtl(Long itemId){
-        List<ItemImg> itemImgList = itemImgRepository.findByItemIdOrderByIdAsc(itemId);
-        List<ItemImgDto> itemImgDtoList = new ArrayList<>();
-        for (ItemImg itemImg : itemImgList) {
-            ItemImgDto itemImgDto = ItemImgDto.of(itemImg);
-            itemImgDtoList.add(itemImgDto);
+        ItemFormDto itemFormDto = itemRepository.getItemDtl(itemId);
+        if(itemFormDto == null){
+            throw new EntityNotFoundException();
         }
-
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(EntityNotFoundException::new);
-        ItemFormDto itemFormDto = ItemFormDto.of(item);
-        itemFormDto.setItemImgDtoList(itemImgDtoList);
         return itemFormDto;
     }
 
+    @Transactional(readOnly = true)
+    public ItemVersionDto getItemVersion(Long itemId){
+        ItemVersionDto itemVersionDto = itemRepository.findItemVersion(itemId);
+        if(itemVersionDto == null){
+            throw new EntityNotFoundException();
+        }
+        return itemVersionDto;
+    }
+
     public Long updateItem(ItemFormDto itemFormDto, List<MultipartFile> itemImgFileList) throws Exception{
         //상품 수정
         Item item = itemRepository.findById(itemFormDto.getId())
@@ -84,17 +99,102 @@ public class ItemService {
                     itemImgFileList.get(i));
         }
 
+        //상품과 이미지 변경을 한 번의 이벤트로 알림 (캐시/색인은 커밋 후 한 번만 갱신)
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
         return item.getId();
     }
 
+    // countMode - EXACT: 매번 count 조회, CACHED: 검색 조건별 캐시된 건수 사용, HAS_NEXT: count 없이 다음 페이지 여부만 조회
+    @Transactional(readOnly = true)
+    public Slice<AdminItemDto> getAdminItemPage(ItemSearchDto itemSearchDto, Pageable pageable, PageCountMode countMode){
+        switch (countMode) {
+            case HAS_NEXT:
+                return itemRepository.getAdminItemSlice(itemSearchDto, pageable);
+            case CACHED:
+                return itemRepository.getAdminItemPage(itemSearchDto, pageable,
+                        () -> itemCountCache.getAdminItemCount(itemSearchDto,
+                                () -> itemRepository.countAdminItem(itemSearchDto)));
+            default:
+                return itemRepository.getAdminItemPage(itemSearchDto, pageable);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<MainItemDto> getMainItemPage(ItemSearchDto itemSearchDto, Pageable pageable, PageCountMode countMode){
+        //검색어가 있으면 검색 색인에서 상품 id를 찾고, 해당 페이지의 상품만 조회
+        long[] matchedIds = searchIndexedItemIds(itemSearchDto);
+        if(matchedIds != null){
+            // 색인 결과는 id 오름차순이므로 뒤에서부터 offset만큼 건너뜀
+            int end = (int) Math.max(matchedIds.length - pageable.getOffset(), 0);
+            List<MainItemDto> content = getMainItemsByIds(matchedIds, end, pageable.getPageSize());
+            if(countMode == PageCountMode.HAS_NEXT){
+                return new SliceImpl<>(content, pageable, end > pageable.getPageSize());
+            }
+            // EXACT, CACHED: 색인에서 찾은 건수가 정확한 전체 건수이므로 count 조회 없이 사용
+            return new PageImpl<>(content, pageable, matchedIds.length);
+        }
+
+        switch (countMode) {
+            case HAS_NEXT:
+                return itemRepository.getMainItemSlice(itemSearchDto, pageable);
+            case CACHED:
+                return itemRepository.getMainItemPage(itemSearchDto, pageable,
+                        () -> itemCountCache.getMainItemCount(itemSearchDto,
+                                () -> itemRepository.countMainItem(itemSearchDto)));
+            default:
+                return itemRepository.getMainItemPage(itemSearchDto, pageable);
+        }
+    }
+
     @Transactional(readOnly = true)
-    public Page<Item> getAdminItemPage(ItemSearchDto itemSearchDto, Pageable pageable){
-        return itemRepository.getAdminItemPage(itemSearchDto, pageable);
+    public CursorPageDto<AdminItemDto> getAdminItemCursorPage(ItemSearchDto itemSearchDto, String cursor, int size){
+        Long lastItemId = CursorPageDto.decodeCursor(cursor);
+        List<AdminItemDto> items = itemRepository.getAdminItemsAfter(itemSearchDto, lastItemId, size + 1);
+        return CursorPageDto.of(items, size, AdminItemDto::getId);
     }
 
     @Transactional(readOnly = true)
-    public Page<MainItemDto> getMainItemPage(ItemSearchDto itemSearchDto, Pageable pageable){
-        return itemRepository.getMainItemPage(itemSearchDto, pageable);
+    public CursorPageDto<MainItemDto> getMainItemCursorPage(ItemSearchDto itemSearchDto, String cursor, int size){
+        Long lastItemId = CursorPageDto.decodeCursor(cursor);
+
+        long[] matchedIds = searchIndexedItemIds(itemSearchDto);
+        if(matchedIds != null){
+            // 커서보다 작은 id는 이진 탐색으로 찾은 위치의 앞쪽에 있음
+            int end = matchedIds.length;
+            if(lastItemId != null){
+                int pos = Arrays.binarySearch(matchedIds, lastItemId);
+                end = pos >= 0 ? pos : -pos - 1;
+            }
+            return CursorPageDto.of(getMainItemsByIds(matchedIds, end, size + 1), size, MainItemDto::getId);
+        }
+
+        List<MainItemDto> items = itemRepository.getMainItemsAfter(itemSearchDto, lastItemId, size + 1);
+        return CursorPageDto.of(items, size, MainItemDto::getId);
+    }
+
+    // 색인으로 처리할 수 없는 경우(색인 생성 전, 검색어 없음 등) null
+    private long[] searchIndexedItemIds(ItemSearchDto itemSearchDto){
+        String searchQuery = itemSearchDto.getSearchQuery();
+        if(StringUtils.isEmpty(searchQuery)){
+            return null;
+        }
+        if(StringUtils.equals("itemDetail", itemSearchDto.getSearchBy())){
+            return itemSearchIndex.searchItemDetail(searchQuery);
+        }
+        return itemSearchIndex.searchItemNm(searchQuery);
+    }
+
+    // 오름차순 id 배열에서 end 바로 앞의 최대 count개 (조회 결과는 id 내림차순)
+    private List<MainItemDto> getMainItemsByIds(long[] itemIds, int end, int count){
+        int from = Math.max(end - count, 0);
+        if(from >= end){
+            return new ArrayList<>();
+        }
+        List<Long> pageIds = new ArrayList<>();
+        for (int i = end - 1; i >= from; i--) {
+            pageIds.add(itemIds[i]);
+        }
+        return itemRepository.getMainItemsByIds(pageIds);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.shop.service;
+
+import com.shop.exception.OutOfStockException;
+import com.shop.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+
+// 재고 증감은 조건부 update 한 번으로 처리 (엔티티를 읽고 차감하면 동시 주문 시 초과 판매가 발생)
+// 행 잠금은 update 문이 실행되는 동안에만 잡히므로 비관적 락처럼 주문 전체가 직렬화되지 않음
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class ItemStockService {
+
+    private final ItemRepository itemRepository;
+
+    private final HotItemStock hotItemStock;
+
+    // item 재고에 바로 반영했으면 true, 한정 판매 상품이라 메모리에서만 차감했으면 false (HotItemStock에서 반영)
+    // 재고가 부족하거나 상품이 없으면 차감하지 않고 예외만 던지므로 롤백 여부는 호출한 쪽에서 결정
+    @Transactional(noRollbackFor = {EntityNotFoundException.class, OutOfStockException.class})
+    public boolean removeStock(Long itemId, int count){
+        if(hotItemStock.reserve(itemId, count)){
+            return false;
+        }
+        if(itemRepository.decreaseStock(itemId, count, LocalDateTime.now()) == 0){
+            Integer stockNumber = itemRepository.findStockNumber(itemId);
+            if(stockNumber == null){
+                throw new EntityNotFoundException();
+            }
+            throw new OutOfStockException("상품의 재고가 부족 합니다. (현재 재고 수량: " + stockNumber + ")");
+        }
+        return true;
+    }
+
+    public void addStock(Long itemId, int count){
+        if(itemRepository.increaseStock(itemId, count, LocalDateTime.now()) == 0){
+            throw new EntityNotFoundException();
+        }
+        hotItemStock.releaseAfterCommit(itemId, count);
+    }
+
+}
@@ -0,0 +1,306 @@
+package com.shop.service;
+
+import com.shop.dto.ItemPopularityDto;
+import com.shop.dto.ItemSuggestDto;
+import com.shop.event.ItemChangedEvent;
+import com.shop.repository.ItemRepository;
+import com.shop.repository.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 상품명 자동완성용 prefix trie
+// 노드마다 인기순(누적 주문 수량) 상위 K개의 상품을 미리 계산해 두어서 조회 시에는 prefix 길이만큼만 탐색
+@Component
+@Log
+@RequiredArgsConstructor
+public class ItemSuggestIndex {
+
+    private static final int TOP_K = 10;
+
+    private static final int BUILD_CHUNK_SIZE = 1000;
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong((Entry e) -> e.score).reversed()
+            .thenComparing(Comparator.comparingLong((Entry e) -> e.itemId).reversed());
+
+    private final ItemRepository itemRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final Node root = new Node();
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private final Map<Long, Long> scores = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean building;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup(){
+        Thread builder = new Thread(this::build, "item-suggest-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void build(){
+        building = true;
+        try {
+            for (ItemPopularityDto popularity : orderItemRepository.findItemPopularity()) {
+                addPopularity(popularity.getItemId(), popularity.getOrderCount());
+            }
+
+            long lastId = 0L;
+            List<ItemSuggestDto> items;
+            do {
+                items = itemRepository.findItemNmAfter(lastId, PageRequest.of(0, BUILD_CHUNK_SIZE));
+                // 변경 여부 확인과 색인을 같은 락 안에서 처리해서, 변경 이벤트에서 색인한 최신 상품명을 덮어쓰지 않도록 함
+                lock.writeLock().lock();
+                try {
+                    for (ItemSuggestDto item : items) {
+                        if(!changedDuringBuild.contains(item.getItemId())){
+                            put(item.getItemId(), item.getItemNm());
+                        }
+                        lastId = item.getItemId();
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } while (items.size() == BUILD_CHUNK_SIZE);
+
+            log.info("상품 자동완성 색인 생성 완료 (" + entries.size() + "건)");
+        } catch (Exception e){
+            log.severe("상품 자동완성 색인 생성 실패: " + e.getMessage());
+        } finally {
+            building = false;
+            changedDuringBuild.clear();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event){
+        // 상품명을 다시 조회하기 전에 표시해서, 그 전에 조회된 상품명으로 생성 작업이 색인하지 않도록 함
+        if(building){
+            lock.writeLock().lock();
+            try {
+                changedDuringBuild.add(event.getItemId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        ItemSuggestDto item = itemRepository.findItemSuggest(event.getItemId());
+        if(item != null){
+            put(item.getItemId(), item.getItemNm());
+        } else {
+            remove(event.getItemId());
+        }
+    }
+
+    // 주문이 커밋된 후에 인기도 반영
+    public void recordOrder(Long itemId, int count){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addPopularity(itemId, count);
+                }
+            });
+        } else {
+            addPopularity(itemId, count);
+        }
+    }
+
+    public List<ItemSuggestDto> suggest(String prefix, int limit){
+        String key = normalize(prefix == null ? "" : prefix.stripLeading());
+        List<ItemSuggestDto> suggestions = new ArrayList<>();
+        if(key.isEmpty()){
+            return suggestions;
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if(node == null){
+                return suggestions;
+            }
+            for (int i = 0; i < node.top.length && i < limit; i++) {
+                suggestions.add(new ItemSuggestDto(node.top[i].itemId, node.top[i].itemNm));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Long itemId, String itemNm){
+        lock.writeLock().lock();
+        try {
+            Entry saved = entries.get(itemId);
+            if(saved != null){
+                if(saved.itemNm.equals(itemNm)){
+                    return;
+                }
+                detach(saved);
+            }
+            Entry entry = new Entry(itemId, itemNm, normalize(itemNm), scores.getOrDefault(itemId, 0L));
+            entries.put(itemId, entry);
+
+            List<Node> path = path(entry.key, true);
+            path.get(path.size() - 1).terminals.add(entry);
+            recompute(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId){
+        lock.writeLock().lock();
+        try {
+            Entry saved = entries.get(itemId);
+            if(saved != null){
+                detach(saved);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addPopularity(Long itemId, long count){
+        lock.writeLock().lock();
+        try {
+            scores.merge(itemId, count, Long::sum);
+            Entry entry = entries.get(itemId);
+            if(entry != null){
+                entry.score += count;
+                recompute(path(entry.key, false));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void detach(Entry entry){
+        entries.remove(entry.itemId);
+        List<Node> path = path(entry.key, false);
+        path.get(path.size() - 1).terminals.remove(entry);
+        recompute(path);
+    }
+
+    // root부터 key에 해당하는 노드까지의 경로
+    private List<Node> path(String key, boolean create){
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            Node next = node.child(key.charAt(i));
+            if(next == null){
+                if(!create){
+                    break;
+                }
+                next = node.addChild(key.charAt(i));
+            }
+            node = next;
+            path.add(node);
+        }
+        return path;
+    }
+
+    // 아래 노드부터 자식 노드의 상위 K개와 해당 노드에서 끝나는 상품을 합쳐서 다시 계산
+    private void recompute(List<Node> path){
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            List<Entry> candidates = new ArrayList<>(node.terminals);
+            for (int c = 0; c < node.size; c++) {
+                candidates.addAll(Arrays.asList(node.children[c].top));
+            }
+            candidates.sort(RANKING);
+            node.top = candidates.subList(0, Math.min(TOP_K, candidates.size())).toArray(new Entry[0]);
+        }
+    }
+
+    // 한글은 자모 단위로 분해(NFKD)해서 "반ㅍ" 처럼 조합 중인 입력도 "반팔"과 매칭되도록 함
+    static String normalize(String text){
+        return Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFKD);
+    }
+
+    private static class Entry {
+
+        private final long itemId;
+
+        private final String itemNm;
+
+        private final String key;
+
+        private long score;
+
+        Entry(long itemId, String itemNm, String key, long score){
+            this.itemId = itemId;
+            this.itemNm = itemNm;
+            this.key = key;
+            this.score = score;
+        }
+
+    }
+
+    // 자식 노드는 정렬된 char 배열 + 노드 배열로 보관
+    private static class Node {
+
+        private char[] labels = new char[0];
+
+        private Node[] children = new Node[0];
+
+        private int size;
+
+        private Entry[] top = new Entry[0];
+
+        private final List<Entry> terminals = new ArrayList<>(1);
+
+        Node child(char label){
+            int pos = Arrays.binarySearch(labels, 0, size, label);
+            return pos >= 0 ? children[pos] : null;
+        }
+
+        Node addChild(char label){
+            int pos = -Arrays.binarySearch(labels, 0, size, label) - 1;
+            if(size == labels.length){
+                int capacity = Math.max(2, size * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, pos, labels, pos + 1, size - pos);
+            System.arraycopy(children, pos, children, pos + 1, size - pos);
+            Node node = new Node();
+            labels[pos] = label;
+            children[pos] = node;
+            size++;
+            return node;
+        }
+
+    }
+
+}
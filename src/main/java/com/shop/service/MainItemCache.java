@@ -0,0 +1,95 @@
+package com.shop.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.dto.CursorPageDto;
+import com.shop.dto.ItemSearchDto;
+import com.shop.dto.MainItemDto;
+import com.shop.event.ItemChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 메인 페이지(/api/main) 조회 결과 캐시
+// 용량(추정 바이트) 기준으로 제한하며 W-TinyLFU(Caffeine 기본 정책)로 제거, 히트/미스는 cache.* 메트릭으로 확인
+@Component
+public class MainItemCache {
+
+    private static final long MAX_WEIGHT_BYTES = 16L * 1024 * 1024;
+
+    private final Cache<String, Object> results = Caffeine.newBuilder()
+            .maximumWeight(MAX_WEIGHT_BYTES)
+            .weigher((String key, Object value) -> estimateBytes(key, value))
+            .expireAfterWrite(Duration.ofMinutes(5)) //변경 이벤트를 놓치더라도 오래된 결과가 계속 남지 않도록 함
+            .recordStats()
+            .build();
+
+    // 상품 변경 시 증가시켜서 변경 전에 조회된 결과가 다시 저장되지 않도록 함
+    private final AtomicLong generation = new AtomicLong();
+
+    // 재시작 후 generation이 0부터 다시 시작해도 이전 ETag와 겹치지 않도록 기동 시각을 함께 사용
+    private final long startedAt = System.currentTimeMillis();
+
+    public MainItemCache(MeterRegistry meterRegistry){
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "mainItemCache");
+    }
+
+    @SuppressWarnings("unchecked")
+    public Slice<MainItemDto> getPage(ItemSearchDto itemSearchDto, int page, String countMode,
+                                      Supplier<Slice<MainItemDto>> loader){
+        String key = generation.get() + ":page:" + page + ":" + countMode + ":" + itemSearchDto.normalizedKey();
+        return (Slice<MainItemDto>) results.get(key, k -> loader.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    public CursorPageDto<MainItemDto> getCursorPage(ItemSearchDto itemSearchDto, String cursor,
+                                                    Supplier<CursorPageDto<MainItemDto>> loader){
+        String key = generation.get() + ":cursor:" + cursor + ":" + itemSearchDto.normalizedKey();
+        return (CursorPageDto<MainItemDto>) results.get(key, k -> loader.get());
+    }
+
+    // 조회 결과가 바뀔 때마다 달라지는 값 (ETag 계산용)
+    // 조회 전에 읽어두면 조회 중에 상품이 변경되어도 다음 요청에서 ETag가 달라지므로 304로 잘못 응답하지 않음
+    public String getVersionTag(){
+        return startedAt + "-" + generation.get();
+    }
+
+    // 검색 색인(ItemSearchIndex)이 갱신된 후에 실행되어야 새 generation으로 변경 전 검색 결과가 저장되지 않음
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event){
+        generation.incrementAndGet();
+        results.invalidateAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int estimateBytes(String key, Object value){
+        List<MainItemDto> content;
+        if(value instanceof Slice<?> slice){
+            content = (List<MainItemDto>) slice.getContent();
+        } else if(value instanceof CursorPageDto<?> cursorPage){
+            content = (List<MainItemDto>) cursorPage.getContent();
+        } else {
+            return 1;
+        }
+        long bytes = 128 + key.length() * 2L;
+        for (MainItemDto dto : content) {
+            bytes += 64 + 2L * (length(dto.getItemNm()) + length(dto.getItemSummary()) + length(dto.getImgUrl()));
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value){
+        return value == null ? 0 : value.length();
+    }
+
+}
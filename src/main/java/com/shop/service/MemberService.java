@@ -1,12 +1,12 @@
 package com.shop.service;
 
+import com.shop.config.MemberPrincipal;
 import com.shop.entity.Member;
 import com.shop.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -31,19 +31,17 @@ public class MemberService implements UserDetailsService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
+        // 로그인할 때만 호출됨 (이후 요청은 세션의 MemberPrincipal에서 회원 id/권한을 사용)
         Member member = memberRepository.findByEmail(email);
 
         if(member == null){
             throw new UsernameNotFoundException(email);
         }
 
-        return User.builder()
-                .username(member.getEmail())
-                .password(member.getPassword())
-                .roles(member.getRole().toString())
-                .build();
+        return new MemberPrincipal(member.getId(), member.getEmail(), member.getPassword(), member.getRole());
     }
 
-}
\ No newline at end of file
+}
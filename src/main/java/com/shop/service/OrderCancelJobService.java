@@ -0,0 +1,160 @@
+package com.shop.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.constant.OrderStatus;
+import com.shop.dto.OrderCancelDto;
+import com.shop.dto.OrderCancelJobDto;
+import com.shop.repository.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 주문 일괄 취소 (결제 장애 등으로 많은 주문을 한 번에 취소하는 경우)
+// 작업 스레드 하나에서 CHUNK_SIZE 건씩 OrderService.cancelOrders 트랜잭션으로 처리하고 진행 상황을 기록
+// 대기 중인 작업은 MAX_PENDING_JOBS 개까지만 받고, 실행/대기 중인 작업과 범위가 겹치는 요청은 받지 않음
+@Service
+@Log
+public class OrderCancelJobService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final int MAX_PENDING_JOBS = 10;
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+    private final OrderService orderService;
+
+    private final OrderRepository orderRepository;
+
+    private final Cache<String, OrderCancelJobDto> jobs = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(Duration.ofDays(1))
+            .build();
+
+    // 실행/대기 중인 작업의 요청 (범위 중복 확인용)
+    private final Map<String, OrderCancelDto> activeJobs = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor executor;
+
+    private volatile boolean stopping;
+
+    public OrderCancelJobService(OrderService orderService, OrderRepository orderRepository){
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_JOBS), runnable -> {
+                    Thread thread = new Thread(runnable, "order-cancel-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // 범위가 겹치는 작업이 있거나 대기 중인 작업이 많으면 IllegalStateException
+    public synchronized OrderCancelJobDto start(OrderCancelDto orderCancelDto){
+        List<Long> orderIds = orderCancelDto.getOrderIds();
+        boolean byIds = orderIds != null && !orderIds.isEmpty();
+        if(!byIds && (orderCancelDto.getOrderDateFrom() == null || orderCancelDto.getOrderDateTo() == null)){
+            throw new IllegalArgumentException("취소할 주문 id 목록 또는 주문일 범위를 입력해주세요.");
+        }
+        if(stopping){
+            throw new IllegalStateException("서버가 종료 중입니다.");
+        }
+        for (OrderCancelDto activeJob : activeJobs.values()) {
+            if(overlaps(activeJob, orderCancelDto)){
+                throw new IllegalStateException("같은 범위의 주문 취소 작업이 진행 중입니다.");
+            }
+        }
+
+        OrderCancelJobDto job = new OrderCancelJobDto(UUID.randomUUID().toString(), byIds ? orderIds.size() : null);
+        activeJobs.put(job.getJobId(), orderCancelDto);
+        try {
+            executor.execute(() -> run(job, orderCancelDto));
+        } catch (RejectedExecutionException e){
+            activeJobs.remove(job.getJobId());
+            throw new IllegalStateException("대기 중인 주문 취소 작업이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    public OrderCancelJobDto getJob(String jobId){
+        return jobs.getIfPresent(jobId);
+    }
+
+    // 종료 시 대기 중인 작업은 시작하지 않고, 실행 중인 작업은 현재 chunk까지만 처리하고 멈춤
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        if(!executor.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)){
+            log.warning("주문 일괄 취소 작업이 제한 시간 안에 종료되지 않았습니다.");
+        }
+    }
+
+    // 주문 id 목록은 겹치는 id가 있으면, 주문일 범위는 범위가 겹치면 중복
+    // id 목록과 주문일 범위는 비교할 수 없으므로 중복으로 봄
+    private static boolean overlaps(OrderCancelDto a, OrderCancelDto b){
+        boolean aByIds = a.getOrderIds() != null && !a.getOrderIds().isEmpty();
+        boolean bByIds = b.getOrderIds() != null && !b.getOrderIds().isEmpty();
+        if(aByIds && bByIds){
+            return !Collections.disjoint(new HashSet<>(a.getOrderIds()), b.getOrderIds());
+        } else if(!aByIds && !bByIds){
+            return a.getOrderDateFrom().isBefore(b.getOrderDateTo()) && b.getOrderDateFrom().isBefore(a.getOrderDateTo());
+        }
+        return true;
+    }
+
+    private void run(OrderCancelJobDto job, OrderCancelDto orderCancelDto){
+        try {
+            List<Long> orderIds = orderCancelDto.getOrderIds();
+            if(orderIds != null && !orderIds.isEmpty()){
+                for (int from = 0; from < orderIds.size(); from += CHUNK_SIZE) {
+                    checkStopping();
+                    List<Long> chunk = orderIds.subList(from, Math.min(from + CHUNK_SIZE, orderIds.size()));
+                    job.addProgress(chunk.size(), orderService.cancelOrders(chunk));
+                }
+            } else {
+                long lastId = 0L;
+                List<Long> chunk;
+                do {
+                    checkStopping();
+                    chunk = orderRepository.findOrderIdsAfter(OrderStatus.ORDER,
+                            orderCancelDto.getOrderDateFrom(), orderCancelDto.getOrderDateTo(),
+                            lastId, PageRequest.of(0, CHUNK_SIZE));
+                    if(!chunk.isEmpty()){
+                        job.addProgress(chunk.size(), orderService.cancelOrders(chunk));
+                        lastId = chunk.get(chunk.size() - 1);
+                    }
+                } while (chunk.size() == CHUNK_SIZE);
+            }
+            job.complete();
+            log.info("주문 일괄 취소 완료 (" + job.getJobId() + ", " + job.getCancelledCount() + "건)");
+        } catch (Exception e){
+            job.fail(e.getMessage());
+            log.severe("주문 일괄 취소 실패 (" + job.getJobId() + "): " + e.getMessage());
+        } finally {
+            activeJobs.remove(job.getJobId());
+        }
+    }
+
+    private void checkStopping(){
+        if(stopping){
+            throw new IllegalStateException("서버 종료로 중단되었습니다.");
+        }
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.shop.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.constant.IdempotencyEndpoint;
+import com.shop.dto.OrderDto;
+import com.shop.dto.OrderTicketDto;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 비동기 주문 접수 (POST /order + Prefer: respond-async)
+// 요청은 크기가 제한된 큐에 넣고 접수 번호만 바로 돌려주며, 큐가 가득 차면 접수하지 않음 (429)
+// 작업 스레드가 큐에서 여러 건을 꺼내 하나의 트랜잭션으로 처리해서 커밋 횟수를 줄임
+// (주문마다 주문 건수/재고 update가 실행되면서 flush 되므로 INSERT는 주문 단위로 실행됨)
+// 주문마다 savepoint를 두어서 실패한 주문만 되돌리고 나머지 주문은 함께 커밋
+@Component
+@Log
+public class OrderIntakeQueue {
+
+    private final OrderService orderService;
+
+    private final IdempotencyService idempotencyService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 묶음 트랜잭션 안에서 주문 한 건씩 실행 (savepoint)
+    private final TransactionTemplate savepointTemplate;
+
+    private final EntityManager entityManager;
+
+    private final BlockingQueue<PendingOrder> queue;
+
+    private final int batchSize;
+
+    // 처리 결과는 조회할 수 있도록 일정 시간 보관
+    private final Cache<String, OrderTicketDto> tickets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+    // 작업 스레드 종료 신호 (큐에 넣어서 앞에 접수된 주문을 모두 처리한 뒤 종료되도록 함)
+    private static final PendingOrder SHUTDOWN = new PendingOrder(null, null, null, null, null, null);
+
+    private volatile boolean accepting = true;
+
+    private Thread worker;
+
+    public OrderIntakeQueue(OrderService orderService, IdempotencyService idempotencyService,
+                            TransactionTemplate transactionTemplate, EntityManager entityManager,
+                            @Value("${orderQueueCapacity:1000}") int queueCapacity,
+                            @Value("${orderBatchSize:50}") int batchSize){
+        this.orderService = orderService;
+        this.idempotencyService = idempotencyService;
+        this.transactionTemplate = transactionTemplate;
+        this.savepointTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.savepointTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.entityManager = entityManager;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady(){
+        worker = new Thread(this::work, "order-intake-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // 큐가 가득 찼으면 null
+    // 작업 스레드에서도 등록자/수정자(AuditorAwareImpl)가 기록되도록 요청한 회원의 인증 정보를 함께 보관
+    public OrderTicketDto submit(OrderDto orderDto, Long memberId, String email, String idempotencyKey){
+        if(!accepting){
+            return null;
+        }
+        OrderTicketDto ticket = OrderTicketDto.pending(UUID.randomUUID().toString(), memberId);
+        tickets.put(ticket.getTicket(), ticket);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if(!queue.offer(new PendingOrder(ticket, orderDto, memberId, email, idempotencyKey, authentication))){
+            tickets.invalidate(ticket.getTicket());
+            return null;
+        }
+        return ticket;
+    }
+
+    // 본인이 접수한 주문만 조회
+    public OrderTicketDto getTicket(String ticket, Long memberId){
+        OrderTicketDto orderTicketDto = tickets.getIfPresent(ticket);
+        if(orderTicketDto == null || !orderTicketDto.getMemberId().equals(memberId)){
+            return null;
+        }
+        return orderTicketDto;
+    }
+
+    private void work(){
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        boolean stopped = false;
+        while (!stopped) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            stopped = batch.remove(SHUTDOWN);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    // 종료 시 새 주문은 받지 않고, 종료 신호를 넣어서 작업 스레드가 앞에 접수된 주문을 모두 처리한 뒤 끝나도록 함
+    // (처리 중인 트랜잭션이 중단되지 않도록 interrupt 하지 않음)
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        accepting = false;
+        if(worker != null){
+            if(queue.offer(SHUTDOWN, SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)){
+                worker.join(SHUTDOWN_TIMEOUT_MS);
+            }
+            if(worker.isAlive()){
+                log.warning("주문 접수 작업 스레드가 제한 시간 안에 종료되지 않았습니다. (남은 주문: " + queue.size() + "건)");
+                return;
+            }
+        }
+        // 종료 신호를 넣기 직전에 접수된 주문이 남아있으면 처리
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            batch.remove(SHUTDOWN);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<PendingOrder> batch){
+        // Idempotency-Key가 있는 주문은 키 저장과 주문을 함께 커밋해야 하므로 한 건씩 처리
+        List<PendingOrder> grouped = new ArrayList<>(batch.size());
+        for (PendingOrder pendingOrder : batch) {
+            if(pendingOrder.idempotencyKey != null){
+                processOne(pendingOrder);
+            } else {
+                grouped.add(pendingOrder);
+            }
+        }
+
+        if(grouped.size() == 1){
+            processOne(grouped.get(0));
+        } else if(!grouped.isEmpty()){
+            Long[] orderIds = new Long[grouped.size()];
+            RuntimeException[] failures = new RuntimeException[grouped.size()];
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = 0; i < grouped.size(); i++) {
+                        PendingOrder pendingOrder = grouped.get(i);
+                        try {
+                            orderIds[i] = savepointTemplate.execute(savepoint -> runAs(pendingOrder, () -> {
+                                Long orderId = orderService.order(pendingOrder.orderDto, pendingOrder.memberId);
+                                entityManager.flush();
+                                return orderId;
+                            }));
+                        } catch (RuntimeException e){
+                            // savepoint까지 되돌린 뒤, 실패한 주문의 엔티티가 커밋 시 저장되지 않도록 영속성 컨텍스트를 비움
+                            // (앞선 주문은 이미 flush 되었음)
+                            entityManager.clear();
+                            failures[i] = e;
+                        }
+                    }
+                });
+            } catch (RuntimeException e){
+                // 커밋 자체가 실패한 경우에만 한 건씩 다시 처리
+                for (PendingOrder pendingOrder : grouped) {
+                    processOne(pendingOrder);
+                }
+                return;
+            }
+            for (int i = 0; i < grouped.size(); i++) {
+                if(failures[i] != null){
+                    fail(grouped.get(i), failures[i]);
+                } else {
+                    complete(grouped.get(i), orderIds[i]);
+                }
+            }
+        }
+    }
+
+    private void processOne(PendingOrder pendingOrder){
+        try {
+            Long orderId = runAs(pendingOrder, () -> {
+                if(pendingOrder.idempotencyKey != null){
+                    return idempotencyService.execute(pendingOrder.email, IdempotencyEndpoint.ORDER,
+                            pendingOrder.idempotencyKey,
+                            () -> orderService.order(pendingOrder.orderDto, pendingOrder.memberId));
+                }
+                return orderService.order(pendingOrder.orderDto, pendingOrder.memberId);
+            });
+            complete(pendingOrder, orderId);
+        } catch (RuntimeException e){
+            fail(pendingOrder, e);
+        }
+    }
+
+    // 접수한 회원의 인증 정보로 실행 (동기 주문과 같은 createdBy/modifiedBy 기록)
+    private Long runAs(PendingOrder pendingOrder, Supplier<Long> task){
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(pendingOrder.authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            return task.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void complete(PendingOrder pendingOrder, Long orderId){
+        tickets.put(pendingOrder.ticket.getTicket(), pendingOrder.ticket.complete(orderId));
+    }
+
+    private void fail(PendingOrder pendingOrder, RuntimeException e){
+        tickets.put(pendingOrder.ticket.getTicket(), pendingOrder.ticket.fail(e.getMessage()));
+    }
+
+    private static class PendingOrder {
+
+        private final OrderTicketDto ticket;
+
+        private final OrderDto orderDto;
+
+        private final Long memberId;
+
+        private final String email;
+
+        private final String idempotencyKey;
+
+        private final Authentication authentication;
+
+        PendingOrder(OrderTicketDto ticket, OrderDto orderDto, Long memberId, String email, String idempotencyKey,
+                     Authentication authentication){
+            this.ticket = ticket;
+            this.orderDto = orderDto;
+            this.memberId = memberId;
+            this.email = email;
+            this.idempotencyKey = idempotencyKey;
+            this.authentication = authentication;
+        }
+
+    }
+
+}
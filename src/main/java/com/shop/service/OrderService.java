@@ -1,27 +1,36 @@
 package com.shop.service;
 
+import com.shop.constant.OrderStatus;
+import com.shop.dto.CursorPageDto;
+import com.shop.dto.ItemStockCountDto;
 import com.shop.dto.OrderDto;
 import com.shop.entity.*;
+import com.shop.exception.OutOfStockException;
 import com.shop.repository.ItemRepository;
 import com.shop.repository.MemberRepository;
+import com.shop.repository.OrderHistRepository;
+import com.shop.repository.OrderItemRepository;
 import com.shop.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.shop.dto.OrderHistDto;
 import com.shop.dto.OrderItemDto;
-import com.shop.repository.ItemImgRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
-import org.thymeleaf.util.StringUtils;
-
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -33,84 +42,177 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
 
-    private final ItemImgRepository itemImgRepository;
+    private final OrderItemRepository orderItemRepository;
+
+    private final OrderHistRepository orderHistRepository;
+
+    private final ItemStockService itemStockService;
 
-    public Long order(OrderDto orderDto, String email){
+    private final ItemSuggestIndex itemSuggestIndex;
+
+    // 상품 없음/재고 부족은 저장 전에 발생하므로, 묶음 주문(OrderIntakeQueue)에 참여한 경우 전체를 롤백 대상으로 표시하지 않음
+    @Transactional(noRollbackFor = {EntityNotFoundException.class, OutOfStockException.class})
+    public Long order(OrderDto orderDto, Long memberId){
 
         Item item = itemRepository.findById(orderDto.getItemId())
                 .orElseThrow(EntityNotFoundException::new);
 
-        Member member = memberRepository.findByEmail(email);
+        Member member = memberRepository.getReferenceById(memberId);
+
+        boolean stockApplied = itemStockService.removeStock(item.getId(), orderDto.getCount());
 
         List<OrderItem> orderItemList = new ArrayList<>();
         OrderItem orderItem = OrderItem.createOrderItem(item, orderDto.getCount());
+        orderItem.setStockAppliedYn(stockApplied ? "Y" : "N");
         orderItemList.add(orderItem);
         Order order = Order.createOrder(member, orderItemList);
         orderRepository.save(order);
+        saveOrderHist(order, memberId);
+        itemSuggestIndex.recordOrder(item.getId(), orderDto.getCount());
 
         return order.getId();
     }
 
+    // 구매 이력은 order_hist 테이블에서 주문 순번 내림차순(최신순)으로 조회
     @Transactional(readOnly = true)
-    public Page<OrderHistDto> getOrderList(String email, Pageable pageable) {
-
-        List<Order> orders = orderRepository.findOrders(email, pageable);
-        Long totalCount = orderRepository.countOrder(email);
-
-        List<OrderHistDto> orderHistDtos = new ArrayList<>();
-
-        for (Order order : orders) {
-            OrderHistDto orderHistDto = new OrderHistDto(order);
-            List<OrderItem> orderItems = order.getOrderItems();
-            for (OrderItem orderItem : orderItems) {
-                ItemImg itemImg = itemImgRepository.findByItemIdAndRepimgYn
-                        (orderItem.getItem().getId(), "Y");
-                OrderItemDto orderItemDto =
-                        new OrderItemDto(orderItem, itemImg.getImgUrl());
-                orderHistDto.addOrderItemDto(orderItemDto);
-            }
+    public Page<OrderHistDto> getOrderList(Long memberId, Pageable pageable) {
 
-            orderHistDtos.add(orderHistDto);
-        }
+        long totalCount = getOrderCount(memberId);
+
+        List<OrderHistDto> orderHistDtos = pageable.getOffset() >= totalCount ? new ArrayList<>()
+                : getOrderHistDtos(memberId, orderHistRepository.findOrderSeqs(memberId, Long.MAX_VALUE, pageable));
 
         return new PageImpl<OrderHistDto>(orderHistDtos, pageable, totalCount);
     }
 
+    // 커서(마지막으로 조회한 주문 순번) 기반 구매 이력 조회. 전체 건수 없이 다음 페이지 여부만 반환
     @Transactional(readOnly = true)
-    public boolean validateOrder(Long orderId, String email){
-        Member curMember = memberRepository.findByEmail(email);
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(EntityNotFoundException::new);
-        Member savedMember = order.getMember();
+    public CursorPageDto<OrderHistDto> getOrderCursorPage(Long memberId, String cursor, int size) {
+
+        Long lastSeq = CursorPageDto.decodeCursor(cursor);
+
+        List<Long> orderSeqs = orderHistRepository.findOrderSeqs(memberId,
+                lastSeq == null ? Long.MAX_VALUE : lastSeq, PageRequest.of(0, size + 1));
+        boolean hasNext = orderSeqs.size() > size;
+        List<Long> pageSeqs = hasNext ? orderSeqs.subList(0, size) : orderSeqs;
 
-        if(!StringUtils.equals(curMember.getEmail(), savedMember.getEmail())){
-            return false;
+        List<OrderHistDto> orderHistDtos = getOrderHistDtos(memberId, pageSeqs);
+        String nextCursor = hasNext ? CursorPageDto.encodeCursor(pageSeqs.get(pageSeqs.size() - 1)) : null;
+        return new CursorPageDto<>(orderHistDtos, size, hasNext, nextCursor);
+    }
+
+    // 주문 시 증가시키는 회원별 주문 건수를 사용하고, 마이그레이션 전이면 count 조회
+    private long getOrderCount(Long memberId) {
+        Long orderCount = memberRepository.findOrderCount(memberId);
+        return orderCount != null ? orderCount : orderRepository.countOrder(memberId);
+    }
+
+    private List<OrderHistDto> getOrderHistDtos(Long memberId, List<Long> orderSeqs) {
+        if(orderSeqs.isEmpty()){
+            return new ArrayList<>();
+        }
+        Map<Long, OrderHistDto> orderHistDtoMap = new LinkedHashMap<>();
+        for (OrderHist orderHist : orderHistRepository.findOrderHists(memberId, orderSeqs)) {
+            orderHistDtoMap.computeIfAbsent(orderHist.getOrderId(), orderId -> new OrderHistDto(orderHist))
+                    .addOrderItemDto(new OrderItemDto(orderHist));
         }
+        return new ArrayList<>(orderHistDtoMap.values());
+    }
 
-        return true;
+    // 주문 id를 주문 순번으로 구매 이력을 저장하고 회원별 주문 건수를 증가
+    // 주문 건수는 전체 건수 표시에만 사용하므로 다시 조회하지 않고, 회원 행 잠금이 짧도록 마지막에 증가
+    private void saveOrderHist(Order order, Long memberId) {
+        List<OrderHist> orderHists = new ArrayList<>();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            orderHists.add(OrderHist.createOrderHist(order, orderItem, memberId, order.getId()));
+        }
+        orderHistRepository.saveAll(orderHists);
+        memberRepository.increaseOrderCount(memberId);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean validateOrder(Long orderId, Long memberId){
+        Long savedMemberId = orderRepository.findMemberId(orderId);
+        if(savedMemberId == null){
+            throw new EntityNotFoundException();
+        }
+
+        return savedMemberId.equals(memberId);
     }
 
     public void cancelOrder(Long orderId){
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(EntityNotFoundException::new);
-        order.cancelOrder();
+        if(!orderRepository.existsById(orderId)){
+            throw new EntityNotFoundException();
+        }
+        cancelOrders(List.of(orderId));
     }
 
-    public Long orders(List<OrderDto> orderDtoList, String email){
+    // 주문 상태가 ORDER인 주문만 잠그고 취소해서 이미 취소된 주문은 건너뜀. 취소된 주문 수를 반환
+    // 재고는 상품별로 합산해서 한 번씩 복구하고, 주문 상태는 한 번의 update로 변경
+    public int cancelOrders(List<Long> orderIds){
+        List<Long> cancelIds = new ArrayList<>();
+        for (Order order : orderRepository.findOrdersForCancel(orderIds, OrderStatus.ORDER)) {
+            cancelIds.add(order.getId());
+        }
+        if(cancelIds.isEmpty()){
+            return 0;
+        }
 
-        Member member = memberRepository.findByEmail(email);
-        List<OrderItem> orderItemList = new ArrayList<>();
+        for (ItemStockCountDto itemStockCount : orderItemRepository.findItemStockCounts(cancelIds)) {
+            itemStockService.addStock(itemStockCount.getItemId(), Math.toIntExact(itemStockCount.getCount()));
+        }
+        orderRepository.updateOrderStatus(cancelIds, OrderStatus.CANCEL, LocalDateTime.now());
+        orderHistRepository.updateOrderStatus(cancelIds, OrderStatus.CANCEL);
+        return cancelIds.size();
+    }
+
+    public Long orders(List<OrderDto> orderDtoList, Long memberId){
 
+        Member member = memberRepository.getReferenceById(memberId);
+
+        // 주문 상품을 한 번에 조회
+        List<Long> itemIds = new ArrayList<>();
         for (OrderDto orderDto : orderDtoList) {
-            Item item = itemRepository.findById(orderDto.getItemId())
-                    .orElseThrow(EntityNotFoundException::new);
+            itemIds.add(orderDto.getItemId());
+        }
+        Map<Long, Item> itemMap = new HashMap<>();
+        for (Item item : itemRepository.findAllById(itemIds)) {
+            itemMap.put(item.getId(), item);
+        }
+
+        List<OrderItem> orderItemList = new ArrayList<>();
+        for (OrderDto orderDto : orderDtoList) {
+            Item item = itemMap.get(orderDto.getItemId());
+            if(item == null){
+                throw new EntityNotFoundException();
+            }
+            orderItemList.add(OrderItem.createOrderItem(item, orderDto.getCount()));
+        }
+
+        // 동시 주문 간 교착 상태를 피하기 위해 item_id 오름차순으로 재고 차감
+        // 재고가 부족한 상품은 모두 모아서 한 번에 알려줌
+        List<OrderItem> stockOrder = new ArrayList<>(orderItemList);
+        stockOrder.sort(Comparator.comparing((OrderItem orderItem) -> orderItem.getItem().getId()));
+        List<String> outOfStockMessages = new ArrayList<>();
+        for (OrderItem orderItem : stockOrder) {
+            try {
+                boolean stockApplied = itemStockService.removeStock(orderItem.getItem().getId(), orderItem.getCount());
+                orderItem.setStockAppliedYn(stockApplied ? "Y" : "N");
+            } catch (OutOfStockException e){
+                outOfStockMessages.add(orderItem.getItem().getItemNm() + ": " + e.getMessage());
+            }
+        }
+        if(!outOfStockMessages.isEmpty()){
+            throw new OutOfStockException(String.join("\n", outOfStockMessages));
+        }
 
-            OrderItem orderItem = OrderItem.createOrderItem(item, orderDto.getCount());
-            orderItemList.add(orderItem);
+        for (OrderItem orderItem : orderItemList) {
+            itemSuggestIndex.recordOrder(orderItem.getItem().getId(), orderItem.getCount());
         }
 
         Order order = Order.createOrder(member, orderItemList);
         orderRepository.save(order);
+        saveOrderHist(order, memberId);
 
         return order.getId();
     }
@@ -0,0 +1,91 @@
+package com.shop.controller;
+
+import com.shop.event.ItemChangedEvent;
+import com.shop.service.ItemDetailCache;
+import com.shop.service.QueryCounter;
+import com.shop.service.TestFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixture.class)
+@TestPropertySource(locations="classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.shop.service.QueryCounter")
+class ItemControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemDetailCache itemDetailCache;
+
+    @Autowired
+    TestFixture fixture;
+
+    Long itemId;
+
+    String etag;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        itemId = fixture.saveItem("테스트 상품", 10).getId();
+        etag = mockMvc.perform(get("/item/{itemId}", itemId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+    }
+
+    @Test
+    @DisplayName("If-None-Match가 현재 ETag와 같으면 본문 없이 304로 응답하는지 테스트")
+    public void itemDtlNotModified() throws Exception {
+        mockMvc.perform(get("/item/{itemId}", itemId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/item/{itemId}", itemId).header(HttpHeaders.IF_NONE_MATCH, "\"" + itemId + "-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 상품 상세 조회 시 버전 조회를 한 번만 하는지 테스트")
+    public void itemDtlQueryCount() throws Exception {
+        // 304: 버전 조회만
+        itemDetailCache.onItemChanged(new ItemChangedEvent(itemId));
+        QueryCounter.clear();
+        mockMvc.perform(get("/item/{itemId}", itemId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertEquals(1, QueryCounter.getStatements().size(), QueryCounter.getStatements().toString());
+
+        // 200: 버전 조회 + 상세 조회
+        QueryCounter.clear();
+        mockMvc.perform(get("/item/{itemId}", itemId))
+                .andExpect(status().isOk());
+        assertEquals(2, QueryCounter.getStatements().size(), QueryCounter.getStatements().toString());
+
+        // 캐시된 응답은 DB 조회 없음
+        QueryCounter.clear();
+        mockMvc.perform(get("/item/{itemId}", itemId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, QueryCounter.getStatements().size(), QueryCounter.getStatements().toString());
+    }
+
+}
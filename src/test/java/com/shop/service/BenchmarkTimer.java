@@ -0,0 +1,23 @@
+package com.shop.service;
+
+import java.util.Arrays;
+
+// 벤치마크 테스트용 지연 시간 측정 (-Dbenchmark=true 일 때만 실행되는 테스트에서 사용)
+public class BenchmarkTimer {
+
+    // 워밍업 후 runs 번 실행한 지연 시간의 중앙값 (마이크로초)
+    public static long medianMicros(int warmup, int runs, Runnable task){
+        for (int i = 0; i < warmup; i++) {
+            task.run();
+        }
+        long[] elapsed = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            task.run();
+            elapsed[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(elapsed);
+        return elapsed[runs / 2];
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.shop.service;
+
+import com.shop.dto.OrderDto;
+import com.shop.entity.Item;
+import com.shop.event.ItemChangedEvent;
+import com.shop.repository.ItemRepository;
+import lombok.extern.java.Log;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 한 상품에 주문이 몰릴 때 재고 차감 방식별 처리량 비교
+// 한정 판매 상품(HotItemStock, 메모리 CAS 후 주기적으로 반영) / 일반 상품(item 행 조건부 update, 커밋까지 행 잠금)
+// mvn test -Dbenchmark=true -Dtest=HotItemStockBenchmarkTest (스레드 수는 -Dbenchmark.threads=32 처럼 변경)
+@SpringBootTest
+@Log
+@Import(TestFixture.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(locations="classpath:application-test.properties",
+        properties = {"spring.datasource.url=jdbc:h2:mem:hotItemStockBenchmark", "spring.jpa.show-sql=false"})
+class HotItemStockBenchmarkTest {
+
+    private static final int THREAD_COUNT = Integer.getInteger("benchmark.threads", 16);
+
+    private static final int ORDERS_PER_THREAD = 200;
+
+    private static final int WARMUP_ORDERS_PER_THREAD = 20;
+
+    private static final int STOCK_NUMBER = THREAD_COUNT * (ORDERS_PER_THREAD + WARMUP_ORDERS_PER_THREAD);
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    HotItemStock hotItemStock;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    TestFixture fixture;
+
+    @Test
+    @DisplayName("메모리 CAS 차감과 조건부 update 차감의 동시 주문 처리량 비교")
+    public void casVsConditionalUpdate() throws Exception {
+        Item hotItem = fixture.createItem("한정 판매 상품", STOCK_NUMBER);
+        hotItem.setHotItemYn("Y");
+        Long hotItemId = itemRepository.save(hotItem).getId();
+        hotItemStock.onItemChanged(new ItemChangedEvent(hotItemId));
+        Long itemId = fixture.saveItem("일반 상품", STOCK_NUMBER).getId();
+
+        // 회원 행 잠금(주문 건수 증가)이 섞이지 않도록 스레드마다 다른 회원으로 주문
+        List<Long> memberIds = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            memberIds.add(fixture.saveMember());
+        }
+
+        orderConcurrently(hotItemId, memberIds, WARMUP_ORDERS_PER_THREAD);
+        orderConcurrently(itemId, memberIds, WARMUP_ORDERS_PER_THREAD);
+
+        long casMillis = orderConcurrently(hotItemId, memberIds, ORDERS_PER_THREAD);
+        long updateMillis = orderConcurrently(itemId, memberIds, ORDERS_PER_THREAD);
+
+        // 스케줄러가 꺼져 있으므로 메모리 차감분을 직접 반영해서 두 방식의 결과 재고가 같은지 확인
+        long flushStart = System.nanoTime();
+        hotItemStock.flush();
+        long flushMillis = (System.nanoTime() - flushStart) / 1_000_000;
+        assertEquals(0, itemRepository.findStockNumber(hotItemId));
+        assertEquals(0, itemRepository.findStockNumber(itemId));
+
+        int ordered = THREAD_COUNT * ORDERS_PER_THREAD;
+        log.info(String.format("스레드 %d개, 주문 %d건: 메모리 CAS %dms (%d건/s, 반영 %dms), 조건부 update %dms (%d건/s)",
+                THREAD_COUNT, ordered, casMillis, ordered * 1000L / Math.max(casMillis, 1), flushMillis,
+                updateMillis, ordered * 1000L / Math.max(updateMillis, 1)));
+    }
+
+    // 모든 스레드가 같은 상품을 1개씩 주문하고 걸린 시간(ms)을 반환
+    private long orderConcurrently(Long itemId, List<Long> memberIds, int ordersPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long memberId : memberIds) {
+            futures.add(executor.submit(() -> {
+                OrderDto orderDto = new OrderDto();
+                orderDto.setItemId(itemId);
+                orderDto.setCount(1);
+                start.await();
+                for (int j = 0; j < ordersPerThread; j++) {
+                    orderService.order(orderDto, memberId);
+                }
+                return null;
+            }));
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(300, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+
+}
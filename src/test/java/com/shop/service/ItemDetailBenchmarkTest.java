@@ -0,0 +1,152 @@
+package com.shop.service;
+
+import com.shop.dto.ItemFormDto;
+import com.shop.dto.ItemImgDto;
+import com.shop.entity.Item;
+import com.shop.entity.ItemImg;
+import com.shop.repository.ItemImgRepository;
+import com.shop.repository.ItemRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.java.Log;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 상품 상세 조회 비교: 변경 전(이미지 조회 + 상품 조회, ModelMapper 매핑) / 조회 2번 + 직접 매핑 / 한 번의 조회(현재)
+// mvn test -Dbenchmark=true -Dtest=ItemDetailBenchmarkTest
+@SpringBootTest
+@Log
+@Import(TestFixture.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(locations="classpath:application-test.properties",
+        properties = {"spring.datasource.url=jdbc:h2:mem:itemDetailBenchmark", "spring.jpa.show-sql=false"})
+class ItemDetailBenchmarkTest {
+
+    private static final int ITEM_COUNT = 200;
+
+    private static final int IMG_COUNT = 5;
+
+    private static final int WARMUP = 5;
+
+    private static final int RUNS = 20;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemImgRepository itemImgRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    TestFixture fixture;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private TransactionTemplate readOnlyTemplate;
+
+    private final List<Long> itemIds = new ArrayList<>();
+
+    @BeforeAll
+    public void seedItems(){
+        readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+
+        for (Item item : fixture.saveItems("테스트 상품", ITEM_COUNT, 100)) {
+            for (int i = 0; i < IMG_COUNT; i++) {
+                ItemImg itemImg = new ItemImg();
+                itemImg.setItem(item);
+                itemImg.setRepimgYn(i == 0 ? "Y" : "N");
+                itemImg.updateItemImg("test" + i + ".jpg", "test" + i + ".jpg", "/images/item/test" + i + ".jpg");
+                itemImgRepository.save(itemImg);
+            }
+            itemIds.add(item.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("상품 상세 조회 방식별 지연 시간 비교")
+    public void itemDtl(){
+        // 같은 결과를 만드는지 확인
+        Long itemId = itemIds.get(0);
+        ItemFormDto expected = itemService.getItemDtl(itemId);
+        for (ItemFormDto actual : List.of(getItemDtlWithModelMapper(itemId), getItemDtlWithTwoQueries(itemId))) {
+            assertEquals(expected.getItemNm(), actual.getItemNm());
+            assertEquals(expected.getItemDetail(), actual.getItemDetail());
+            assertEquals(imgIds(expected), imgIds(actual));
+        }
+
+        long modelMapperMicros = measure(this::getItemDtlWithModelMapper);
+        long twoQueriesMicros = measure(this::getItemDtlWithTwoQueries);
+        long singleQueryMicros = measure(itemService::getItemDtl);
+        log.info(String.format("상품 %d건 상세 조회 (이미지 %d개): ModelMapper %dus, 조회 2번 + 직접 매핑 %dus, 한 번의 조회 %dus",
+                ITEM_COUNT, IMG_COUNT, modelMapperMicros, twoQueriesMicros, singleQueryMicros));
+    }
+
+    // 변경 전 ItemService.getItemDtl
+    private ItemFormDto getItemDtlWithModelMapper(Long itemId){
+        return readOnlyTemplate.execute(status -> {
+            List<ItemImgDto> itemImgDtoList = new ArrayList<>();
+            for (ItemImg itemImg : itemImgRepository.findByItemIdOrderByIdAsc(itemId)) {
+                itemImgDtoList.add(modelMapper.map(itemImg, ItemImgDto.class));
+            }
+            Item item = itemRepository.findById(itemId).orElseThrow(EntityNotFoundException::new);
+            ItemFormDto itemFormDto = modelMapper.map(item, ItemFormDto.class);
+            itemFormDto.setItemImgDtoList(itemImgDtoList);
+            return itemFormDto;
+        });
+    }
+
+    // 조회는 변경 전과 같고 매핑만 직접 (매핑 비용과 조회 횟수의 영향을 나눠서 보기 위함)
+    private ItemFormDto getItemDtlWithTwoQueries(Long itemId){
+        return readOnlyTemplate.execute(status -> {
+            List<ItemImgDto> itemImgDtoList = new ArrayList<>();
+            for (ItemImg itemImg : itemImgRepository.findByItemIdOrderByIdAsc(itemId)) {
+                itemImgDtoList.add(ItemImgDto.of(itemImg));
+            }
+            Item item = itemRepository.findById(itemId).orElseThrow(EntityNotFoundException::new);
+            ItemFormDto itemFormDto = ItemFormDto.of(item);
+            itemFormDto.setItemImgDtoList(itemImgDtoList);
+            return itemFormDto;
+        });
+    }
+
+    // 모든 상품을 한 번씩 조회하는 데 걸린 시간의 중앙값을 상품 1건 기준으로 환산
+    private long measure(Function<Long, ItemFormDto> getItemDtl){
+        long micros = BenchmarkTimer.medianMicros(WARMUP, RUNS, () -> {
+            for (Long itemId : itemIds) {
+                getItemDtl.apply(itemId);
+            }
+        });
+        return micros / ITEM_COUNT;
+    }
+
+    private List<Long> imgIds(ItemFormDto itemFormDto){
+        List<Long> ids = new ArrayList<>();
+        for (ItemImgDto itemImgDto : itemFormDto.getItemImgDtoList()) {
+            ids.add(itemImgDto.getId());
+        }
+        return ids;
+    }
+
+}
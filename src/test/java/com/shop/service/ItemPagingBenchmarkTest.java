@@ -0,0 +1,102 @@
+package com.shop.service;
+
+import com.shop.constant.PageCountMode;
+import com.shop.dto.CursorPageDto;
+import com.shop.dto.ItemSearchDto;
+import com.shop.dto.MainItemDto;
+import lombok.extern.java.Log;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// offset 조회와 커서 조회의 페이지 위치별 지연 시간 비교
+// mvn test -Dbenchmark=true -Dtest=ItemPagingBenchmarkTest (상품 수는 -Dbenchmark.rows=100000 처럼 변경)
+@SpringBootTest
+@Log
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(locations="classpath:application-test.properties",
+        properties = {"spring.datasource.url=jdbc:h2:mem:benchmark", "spring.jpa.show-sql=false"})
+class ItemPagingBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+
+    private static final int INSERT_CHUNK_SIZE = 10_000;
+
+    private static final int PAGE_SIZE = 6;
+
+    private static final int WARMUP = 3;
+
+    private static final int RUNS = 10;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // 상품 id는 1 ~ ROWS (엔티티 저장으로는 오래 걸리므로 JDBC 일괄 저장)
+    @BeforeAll
+    public void seedItems(){
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(INSERT_CHUNK_SIZE);
+        for (long id = 1; id <= ROWS; id++) {
+            rows.add(new Object[]{id, "테스트 상품" + id, 10000, 100, "테스트 상품 상세 설명" + id,
+                    "테스트 상품 상세 설명" + id, "SELL", "/images/item/test.jpg", now, now});
+            if(rows.size() == INSERT_CHUNK_SIZE || id == ROWS){
+                jdbcTemplate.batchUpdate("insert into item (item_id, item_nm, price, stock_number, item_detail, " +
+                        "item_summary, item_sell_status, rep_img_url, reg_time, update_time) " +
+                        "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        log.info("벤치마크 상품 저장 완료 (" + ROWS + "건)");
+    }
+
+    @Test
+    @DisplayName("페이지 위치별 offset 조회와 커서 조회 지연 시간 비교")
+    public void offsetVsCursor(){
+        ItemSearchDto itemSearchDto = new ItemSearchDto();
+
+        // 전체 상품 중 앞에서부터 0%, 1%, 10%, 50%, 90%, 99% 위치의 페이지
+        for (int percent : new int[]{0, 1, 10, 50, 90, 99}) {
+            int page = (int) ((long) ROWS * percent / 100 / PAGE_SIZE);
+            long offset = (long) page * PAGE_SIZE;
+            Pageable pageable = PageRequest.of(page, PAGE_SIZE);
+            // 최신순(id 내림차순)이므로 이전 페이지의 마지막 id가 커서
+            String cursor = page == 0 ? "" : CursorPageDto.encodeCursor(ROWS - offset + 1);
+
+            // 건수 조회 비용은 빼고 페이지 조회만 비교 (HAS_NEXT)
+            List<Long> offsetIds = ids(itemService.getMainItemPage(itemSearchDto, pageable, PageCountMode.HAS_NEXT).getContent());
+            List<Long> cursorIds = ids(itemService.getMainItemCursorPage(itemSearchDto, cursor, PAGE_SIZE).getContent());
+            assertEquals(offsetIds, cursorIds);
+
+            long offsetMicros = BenchmarkTimer.medianMicros(WARMUP, RUNS,
+                    () -> itemService.getMainItemPage(itemSearchDto, pageable, PageCountMode.HAS_NEXT));
+            long cursorMicros = BenchmarkTimer.medianMicros(WARMUP, RUNS,
+                    () -> itemService.getMainItemCursorPage(itemSearchDto, cursor, PAGE_SIZE));
+            log.info(String.format("상품 %d건, %d%% 위치(offset %d): offset 조회 %dus, 커서 조회 %dus",
+                    ROWS, percent, offset, offsetMicros, cursorMicros));
+        }
+    }
+
+    private List<Long> ids(List<MainItemDto> items){
+        return items.stream().map(MainItemDto::getId).collect(Collectors.toList());
+    }
+
+}
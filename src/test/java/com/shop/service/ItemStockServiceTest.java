@@ -0,0 +1,93 @@
+package com.shop.service;
+
+import com.shop.exception.OutOfStockException;
+import com.shop.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestFixture.class)
+@TestPropertySource(locations="classpath:application-test.properties")
+class ItemStockServiceTest {
+
+    private static final int STOCK_NUMBER = 100;
+
+    private static final int THREAD_COUNT = 300;
+
+    @Autowired
+    ItemStockService itemStockService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    TestFixture fixture;
+
+    @Test
+    @DisplayName("동시 재고 차감 시 초과 판매 방지 테스트")
+    public void removeStockConcurrently() throws Exception {
+        Long itemId = fixture.saveItem("테스트 상품", STOCK_NUMBER).getId();
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger outOfStockCount = new AtomicInteger();
+        AtomicInteger minStockNumber = new AtomicInteger(STOCK_NUMBER);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // 차감하는 동안 재고가 음수가 되는 순간이 있는지 확인
+        Thread monitor = new Thread(() -> {
+            while (running.get()) {
+                minStockNumber.accumulateAndGet(itemRepository.findStockNumber(itemId), Math::min);
+            }
+        });
+        monitor.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    itemStockService.removeStock(itemId, 1);
+                    successCount.incrementAndGet();
+                } catch (OutOfStockException e){
+                    outOfStockCount.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            running.set(false);
+            monitor.join();
+        }
+
+        assertEquals(STOCK_NUMBER, successCount.get());
+        assertEquals(THREAD_COUNT - STOCK_NUMBER, outOfStockCount.get());
+        assertEquals(0, itemRepository.findStockNumber(itemId));
+        assertTrue(minStockNumber.get() >= 0);
+    }
+
+}
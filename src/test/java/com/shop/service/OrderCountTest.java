@@ -0,0 +1,84 @@
+package com.shop.service;
+
+import com.shop.dto.OrderDto;
+import com.shop.dto.OrderHistDto;
+import com.shop.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@Import(TestFixture.class)
+@TestPropertySource(locations="classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.shop.service.QueryCounter")
+class OrderCountTest {
+
+    private static final int THREAD_COUNT = 4;
+
+    private static final int ORDERS_PER_THREAD = 25;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TestFixture fixture;
+
+    @Test
+    @DisplayName("같은 회원이 동시에 주문해도 주문 건수가 누락되지 않고, 구매 이력 전체 건수를 count 조회 없이 반환하는지 테스트")
+    public void orderCountWithConcurrentOrders() throws Exception {
+        Long memberId = fixture.saveMember();
+        List<OrderDto> orderDtoList = fixture.createOrderDtoList(List.of(fixture.saveItem("테스트 상품", 1000)), 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ORDERS_PER_THREAD; j++) {
+                    orderService.orders(orderDtoList, memberId);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long ordered = THREAD_COUNT * ORDERS_PER_THREAD;
+        assertEquals(ordered, memberRepository.findOrderCount(memberId));
+
+        QueryCounter.clear();
+        Page<OrderHistDto> page = orderService.getOrderList(memberId, PageRequest.of(0, 4));
+        assertEquals(ordered, page.getTotalElements());
+        for (String sql : QueryCounter.getStatements()) {
+            assertFalse(sql.toLowerCase(Locale.ROOT).contains("count("), sql);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.shop.service;
+
+import com.shop.dto.CursorPageDto;
+import com.shop.dto.OrderDto;
+import com.shop.dto.OrderHistDto;
+import com.shop.entity.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@Import(TestFixture.class)
+@TestPropertySource(locations="classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.shop.service.QueryCounter")
+class OrderHistQueryCountTest {
+
+    private static final int ORDER_COUNT = 12;
+
+    private static final int LINES_PER_ORDER = 5;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    TestFixture fixture;
+
+    Long memberId;
+
+    @BeforeEach
+    public void setUp(){
+        memberId = fixture.saveMember();
+        List<Item> items = fixture.saveItems("테스트 상품", LINES_PER_ORDER, 1000);
+
+        List<OrderDto> orderDtoList = fixture.createOrderDtoList(items, 1);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderService.orders(orderDtoList, memberId);
+        }
+    }
+
+    private int countOrderListStatements(int pageSize){
+        QueryCounter.clear();
+        Page<OrderHistDto> page = orderService.getOrderList(memberId, PageRequest.of(0, pageSize));
+        int count = QueryCounter.getStatements().size();
+
+        assertEquals(pageSize, page.getContent().size());
+        assertEquals(ORDER_COUNT, page.getTotalElements());
+        for (OrderHistDto orderHistDto : page.getContent()) {
+            assertEquals(LINES_PER_ORDER, orderHistDto.getOrderItemDtoList().size());
+        }
+        return count;
+    }
+
+    @Test
+    @DisplayName("구매 이력 조회 쿼리 수가 페이지 크기와 관계없이 일정한지 테스트")
+    public void getOrderListQueryCount(){
+        // 주문 건수 + 주문 순번 + 구매 이력
+        assertEquals(3, countOrderListStatements(1), QueryCounter.getStatements().toString());
+        assertEquals(3, countOrderListStatements(4), QueryCounter.getStatements().toString());
+        assertEquals(3, countOrderListStatements(10), QueryCounter.getStatements().toString());
+    }
+
+    @Test
+    @DisplayName("커서 기반 구매 이력 조회 쿼리 수가 일정하고 모든 주문을 빠짐없이 조회하는지 테스트")
+    public void getOrderCursorPageQueryCount(){
+        String cursor = "";
+        int orderCount = 0;
+        while (cursor != null) {
+            QueryCounter.clear();
+            CursorPageDto<OrderHistDto> page = orderService.getOrderCursorPage(memberId, cursor, 5);
+
+            // 주문 순번 + 구매 이력
+            assertEquals(2, QueryCounter.getStatements().size(), QueryCounter.getStatements().toString());
+            for (OrderHistDto orderHistDto : page.getContent()) {
+                assertEquals(LINES_PER_ORDER, orderHistDto.getOrderItemDtoList().size());
+            }
+            orderCount += page.getContent().size();
+            cursor = page.getNextCursor();
+        }
+        assertEquals(ORDER_COUNT, orderCount);
+        assertNull(cursor);
+    }
+
+}
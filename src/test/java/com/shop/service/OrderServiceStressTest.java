@@ -0,0 +1,124 @@
+package com.shop.service;
+
+import com.shop.dto.OrderDto;
+import com.shop.entity.Item;
+import com.shop.exception.OutOfStockException;
+import com.shop.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestFixture.class)
+@TestPropertySource(locations="classpath:application-test.properties")
+class OrderServiceStressTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    private static final int ORDERS_PER_THREAD = 50;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    TestFixture fixture;
+
+    // 절반은 A, B, C 순서로, 나머지는 C, B, A 순서로 동시에 주문하고 성공/재고 부족 건수를 집계
+    // 재고 부족 이외의 예외(교착 상태 등)가 발생하면 get()에서 실패
+    private int orderConcurrently(List<Item> items, ConcurrentLinkedQueue<String> outOfStockMessages) throws Exception {
+        List<Item> reversed = new ArrayList<>(items);
+        Collections.reverse(reversed);
+
+        AtomicInteger successCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            List<OrderDto> orderDtoList = fixture.createOrderDtoList(i % 2 == 0 ? items : reversed, 1);
+            Long memberId = fixture.saveMember();
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ORDERS_PER_THREAD; j++) {
+                    try {
+                        orderService.orders(orderDtoList, memberId);
+                        successCount.incrementAndGet();
+                    } catch (OutOfStockException e){
+                        outOfStockMessages.add(e.getMessage());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return successCount.get();
+    }
+
+    @Test
+    @DisplayName("상품 순서가 반대인 장바구니 동시 주문 시 교착 상태 없이 재고가 차감되는지 테스트")
+    public void ordersWithOverlappingCarts() throws Exception {
+        int stockNumber = 1000;
+        List<Item> items = List.of(fixture.saveItem("상품A", stockNumber), fixture.saveItem("상품B", stockNumber),
+                fixture.saveItem("상품C", stockNumber));
+
+        ConcurrentLinkedQueue<String> outOfStockMessages = new ConcurrentLinkedQueue<>();
+        int successCount = orderConcurrently(items, outOfStockMessages);
+
+        int ordered = THREAD_COUNT * ORDERS_PER_THREAD;
+        assertEquals(ordered, successCount);
+        assertTrue(outOfStockMessages.isEmpty());
+        for (Item item : items) {
+            assertEquals(stockNumber - ordered, itemRepository.findStockNumber(item.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("동시 주문 중 재고가 소진되면 부족한 상품이 모두 재고 부족 메시지에 포함되는지 테스트")
+    public void ordersUntilOutOfStock() throws Exception {
+        int stockNumber = 100;
+        List<Item> items = List.of(fixture.saveItem("상품A", stockNumber), fixture.saveItem("상품B", stockNumber),
+                fixture.saveItem("상품C", stockNumber));
+
+        ConcurrentLinkedQueue<String> outOfStockMessages = new ConcurrentLinkedQueue<>();
+        int successCount = orderConcurrently(items, outOfStockMessages);
+
+        // 모든 주문이 세 상품을 1개씩 주문하므로 세 상품은 함께 소진됨
+        assertEquals(stockNumber, successCount);
+        assertEquals(THREAD_COUNT * ORDERS_PER_THREAD - stockNumber, outOfStockMessages.size());
+        for (String message : outOfStockMessages) {
+            for (Item item : items) {
+                assertTrue(message.contains(item.getItemNm()), message);
+            }
+        }
+        for (Item item : items) {
+            assertEquals(0, itemRepository.findStockNumber(item.getId()));
+        }
+    }
+
+}
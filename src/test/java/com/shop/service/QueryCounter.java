@@ -0,0 +1,28 @@
+package com.shop.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 테스트 스레드에서 실행된 SQL만 기록 (다른 스레드의 쿼리가 섞이지 않도록 스레드별로 보관)
+// spring.jpa.properties.hibernate.session_factory.statement_inspector 로 등록
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> statements = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        statements.get().add(sql);
+        return sql;
+    }
+
+    public static void clear(){
+        statements.get().clear();
+    }
+
+    public static List<String> getStatements(){
+        return new ArrayList<>(statements.get());
+    }
+
+}
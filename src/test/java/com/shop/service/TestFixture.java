@@ -0,0 +1,78 @@
+package com.shop.service;
+
+import com.shop.constant.ItemSellStatus;
+import com.shop.constant.Role;
+import com.shop.dto.OrderDto;
+import com.shop.entity.Item;
+import com.shop.entity.Member;
+import com.shop.repository.ItemRepository;
+import com.shop.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 테스트용 회원/상품/주문 데이터 생성 (@Import(TestFixture.class)로 사용)
+@TestComponent
+public class TestFixture {
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    public Member saveMember(Role role){
+        Member member = new Member();
+        member.setName("홍길동");
+        member.setEmail(UUID.randomUUID() + "@test.com");
+        member.setPassword("1234");
+        member.setRole(role);
+        member.setOrderCount(0L);
+        member.setOrderHistYn("Y");
+        return memberRepository.save(member);
+    }
+
+    public Long saveMember(){
+        return saveMember(Role.USER).getId();
+    }
+
+    public Item createItem(String itemNm, int stockNumber){
+        Item item = new Item();
+        item.setItemNm(itemNm);
+        item.setPrice(10000);
+        item.setItemDetail("테스트 상품 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(stockNumber);
+        item.updateItemSummary();
+        item.updateRepImgUrl("/images/item/test.jpg");
+        return item;
+    }
+
+    public Item saveItem(String itemNm, int stockNumber){
+        return itemRepository.save(createItem(itemNm, stockNumber));
+    }
+
+    public List<Item> saveItems(String itemNm, int itemCount, int stockNumber){
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(saveItem(itemNm + i, stockNumber));
+        }
+        return items;
+    }
+
+    // 상품마다 count 개씩 주문
+    public List<OrderDto> createOrderDtoList(List<Item> items, int count){
+        List<OrderDto> orderDtoList = new ArrayList<>();
+        for (Item item : items) {
+            OrderDto orderDto = new OrderDto();
+            orderDto.setItemId(item.getId());
+            orderDto.setCount(count);
+            orderDtoList.add(orderDto);
+        }
+        return orderDtoList;
+    }
+
+}